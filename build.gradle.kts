@@ -1,5 +1,6 @@
 plugins {
     id("org.openrewrite.build.recipe-library") version "latest.release"
+    id("me.champeau.jmh") version "latest.release"
 }
 
 group = "org.openrewrite.recipe"
@@ -23,9 +24,46 @@ dependencies {
     testImplementation("org.openrewrite:rewrite-maven")
 
     testImplementation("org.junit.jupiter:junit-jupiter-engine:latest.release")
+
+    jmh("org.openrewrite:rewrite-java-17")
+    jmh("org.openjdk.jmh:jmh-core:latest.release")
+    jmhAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:latest.release")
+}
+
+jmh {
+    fork.set(1)
+    warmupIterations.set(2)
+    iterations.set(5)
+    profilers.add("gc")
+}
+
+tasks.named<JavaCompile>("compileJmhJava") {
+    options.release.set(17)
 }
 
 recipeDependencies {
     parserClasspath("org.reactivestreams:reactive-streams:1.0.4")
     parserClasspath("io.projectreactor:reactor-core:3.4.39")
+    // The APIs that recipes migrate to, from Reactor 3.5 and `reactor-core-micrometer`. 3.5.3 added
+    // `Hooks.enableAutomaticContextPropagation()`.
+    parserClasspath("io.projectreactor:reactor-core:3.5.3")
+    parserClasspath("io.projectreactor:reactor-core-micrometer:1.0.0")
+    parserClasspath("io.micrometer:micrometer-core:1.10.2")
+    parserClasspath("io.micrometer:micrometer-commons:1.10.2")
+    parserClasspath("io.micrometer:micrometer-observation:1.10.2")
+}
+
+// Index the parser classpath into META-INF/rewrite/classpath.tsv.gz, which `classpathFromResources` prefers over
+// the jars. The table is generated under the build directory and added as a resource directory, so the source tree
+// only holds the checked in parser jars. It is extracted once into the ~/.rewrite/classpath cache and reused across runs.
+val generatedTypeTable = layout.buildDirectory.dir("generated-resources/type-table")
+val createTypeTable = tasks.named("createTypeTable") {
+    setProperty("targetDir", generatedTypeTable.get().dir("META-INF/rewrite").asFile)
+}
+sourceSets.named("main") {
+    resources.srcDir(files(generatedTypeTable).builtBy(createTypeTable))
+}
+
+tasks.named<Jar>("jar") {
+    exclude("META-INF/rewrite/classpath/*.jar")
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+/**
+ * Generates synthetic source files that use every deprecated Reactor API migrated by this module.
+ */
+final class ReactorCorpus {
+
+    private ReactorCorpus() {
+    }
+
+    /**
+     * @param count              the number of source files to generate.
+     * @param reactorPercentage  the share of files that use Reactor, the rest are plain Java sources.
+     */
+    static String[] generate(int count, int reactorPercentage) {
+        String[] sources = new String[count];
+        for (int i = 0; i < count; i++) {
+            sources[i] = i * 100 < count * reactorPercentage ? reactorSource(i) : plainSource(i);
+        }
+        return sources;
+    }
+
+    private static String reactorSource(int i) {
+        //language=java
+        return String.format("""
+          package com.example.reactor%1$d;
+
+          import java.time.Duration;
+          import java.util.Queue;
+          import java.util.concurrent.ConcurrentLinkedQueue;
+          import org.reactivestreams.Publisher;
+          import reactor.core.Disposable;
+          import reactor.core.publisher.*;
+          import reactor.core.scheduler.Scheduler;
+          import reactor.core.scheduler.Schedulers;
+
+          class Service%1$d {
+              void processors(int size, Duration ttl, Scheduler scheduler, Queue<String> queue, Disposable onTerminate, Object value) {
+                  MonoProcessor.create();
+                  ReplayProcessor.create();
+                  ReplayProcessor.create(size);
+                  ReplayProcessor.create(size, false);
+                  ReplayProcessor.create(size, true);
+                  ReplayProcessor.createTimeout(ttl);
+                  ReplayProcessor.createTimeout(ttl, scheduler);
+                  ReplayProcessor.createSizeAndTimeout(size, ttl);
+                  ReplayProcessor.createSizeAndTimeout(size, ttl, scheduler);
+                  ReplayProcessor.cacheLast();
+                  ReplayProcessor.cacheLastOrDefault(value);
+                  DirectProcessor.create();
+                  EmitterProcessor.create();
+                  EmitterProcessor.create(false);
+                  EmitterProcessor.create(size);
+                  EmitterProcessor.create(size, false);
+                  UnicastProcessor.create();
+                  UnicastProcessor.create(queue);
+                  UnicastProcessor.create(queue, onTerminate);
+                  UnicastProcessor.create(new ConcurrentLinkedQueue<String>(), s -> { }, onTerminate);
+              }
+
+              void operators(Flux<String> flux, Mono<String> mono, Publisher<String> publisher, Signal<String> signal,
+                             MonoSink<String> monoSink, FluxSink<String> fluxSink, SynchronousSink<String> syncSink) {
+                  Mono.deferWithContext(ctx -> Mono.just("%1$d"));
+                  Flux.deferWithContext(ctx -> Flux.just("%1$d"));
+                  Schedulers.elastic();
+                  Mono.first(mono, Mono.just("%1$d"));
+                  Flux.first(flux, publisher);
+                  signal.getContext();
+                  flux.limitRequest(%1$d);
+                  flux.publishNext();
+                  monoSink.currentContext();
+                  fluxSink.currentContext();
+                  syncSink.currentContext();
+              }
+          }
+          """, i);
+    }
+
+    private static String plainSource(int i) {
+        //language=java
+        return String.format("""
+          package com.example.plain%1$d;
+
+          import java.util.ArrayList;
+          import java.util.List;
+
+          class Service%1$d {
+              private final List<String> values = new ArrayList<>();
+
+              List<String> first(int limit) {
+                  List<String> result = new ArrayList<>();
+                  for (int i = 0; i < limit && i < values.size(); i++) {
+                      result.add(values.get(i).trim());
+                  }
+                  return result;
+              }
+          }
+          """, i);
+    }
+}
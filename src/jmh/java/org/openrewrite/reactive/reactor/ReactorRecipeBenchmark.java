@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Measures recipe throughput over a synthetic corpus. Every benchmark operation is one source file, so the
+ * reported throughput is in files per second and the {@code gc.alloc.rate.norm} metric of the GC profiler
+ * is the number of bytes allocated per file.
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ReactorRecipeBenchmark {
+
+    static final int SOURCE_FILES = 200;
+
+    @Param({
+            "org.openrewrite.reactive.reactor.UpgradeReactor_3_5",
+            "org.openrewrite.reactive.reactor.ReactorProcessorToSink",
+            "org.openrewrite.reactive.reactor.ReactorProcessorCreateToSinkRecipes",
+            "org.openrewrite.reactive.reactor.ReactorProcessorCacheToSinkRecipes"
+    })
+    public String recipeName;
+
+    @Param({"100", "10"})
+    public int reactorPercentage;
+
+    private Recipe recipe;
+    private List<SourceFile> sourceFiles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        sourceFiles = JavaParser.fromJavaVersion()
+                .classpathFromResources(ctx, "reactor-core-3.4", "reactive-streams")
+                .build()
+                .parse(ctx, ReactorCorpus.generate(SOURCE_FILES, reactorPercentage))
+                .collect(toList());
+        recipe = Environment.builder()
+                .scanRuntimeClasspath("org.openrewrite.reactive.reactor")
+                .build()
+                .activateRecipes(recipeName);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SOURCE_FILES)
+    public RecipeRun run() {
+        return recipe.run(new InMemoryLargeSourceSet(sourceFiles), new InMemoryExecutionContext());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ReactorRecipeBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(opt).run();
+    }
+}
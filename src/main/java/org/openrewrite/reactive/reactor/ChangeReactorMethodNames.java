@@ -0,0 +1,181 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.MethodCall;
+
+import java.util.*;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class ChangeReactorMethodNames extends Recipe {
+
+    private static final String SEPARATOR = "->";
+
+    @Option(displayName = "Renames",
+            description = "Each entry is a [method pattern](https://docs.openrewrite.org/reference/method-patterns), " +
+                          "followed by `->` and the new method name.",
+            example = "reactor.core.scheduler.Schedulers elastic() -> boundedElastic")
+    List<String> renames;
+
+    @Override
+    public String getDisplayName() {
+        return "Change Reactor method names";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Renames method invocations, method references and static imports according to a table of method patterns. " +
+               "All renames are applied in a single pass, looking up candidates by method name before matching types.";
+    }
+
+    @Override
+    public Validated<Object> validate() {
+        Validated<Object> validated = super.validate();
+        if (renames != null) {
+            for (String rename : renames) {
+                validated = validated.and(Validated.test("renames", "must be a method pattern, such as `<type> <method>(..)`, " +
+                                                                    "followed by `->` and the new method name",
+                        rename, ChangeReactorMethodNames::isValidRename));
+            }
+        }
+        return validated;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        Map<String, List<Rename>> byName = new HashMap<>();
+        List<Rename> wildcards = new ArrayList<>();
+        for (String entry : renames) {
+            int separator = entry.indexOf(SEPARATOR);
+            String methodPattern = entry.substring(0, separator).trim();
+            Rename rename = new Rename(new MethodMatcher(methodPattern), entry.substring(separator + SEPARATOR.length()).trim());
+            String methodName = methodPattern.substring(methodPattern.lastIndexOf(' ', methodPattern.indexOf('(')) + 1, methodPattern.indexOf('('));
+            if (methodName.contains("*")) {
+                wildcards.add(rename);
+            } else {
+                byName.computeIfAbsent(methodName, k -> new ArrayList<>()).add(rename);
+            }
+        }
+
+        return new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+                Rename rename = find(m.getSimpleName(), m);
+                if (rename != null && m.getMethodType() != null) {
+                    JavaType.Method type = m.getMethodType().withName(rename.getNewMethodName());
+                    m = m.withName(m.getName().withSimpleName(rename.getNewMethodName()).withType(type))
+                            .withMethodType(type);
+                }
+                return m;
+            }
+
+            @Override
+            public J.MemberReference visitMemberReference(J.MemberReference memberRef, ExecutionContext ctx) {
+                J.MemberReference m = super.visitMemberReference(memberRef, ctx);
+                Rename rename = find(m.getReference().getSimpleName(), m);
+                if (rename != null && m.getMethodType() != null) {
+                    JavaType.Method type = m.getMethodType().withName(rename.getNewMethodName());
+                    m = m.withReference(m.getReference().withSimpleName(rename.getNewMethodName()))
+                            .withMethodType(type);
+                }
+                return m;
+            }
+
+            @Override
+            public J.FieldAccess visitFieldAccess(J.FieldAccess fieldAccess, ExecutionContext ctx) {
+                J.FieldAccess f = super.visitFieldAccess(fieldAccess, ctx);
+                if (getCursor().getParentTreeCursor().getValue() instanceof J.Import) {
+                    for (Rename rename : candidates(f.getSimpleName())) {
+                        if (rename.getMatcher().isFullyQualifiedClassReference(f)) {
+                            return f.withName(f.getName().withSimpleName(rename.getNewMethodName()));
+                        }
+                    }
+                }
+                return f;
+            }
+
+            private @Nullable Rename find(String methodName, MethodCall call) {
+                for (Rename rename : candidates(methodName)) {
+                    if (rename.getMatcher().matches(call)) {
+                        return rename;
+                    }
+                }
+                return null;
+            }
+
+            private List<Rename> candidates(String methodName) {
+                List<Rename> named = byName.get(methodName);
+                if (wildcards.isEmpty()) {
+                    return named == null ? Collections.emptyList() : named;
+                }
+                if (named == null) {
+                    return wildcards;
+                }
+                List<Rename> all = new ArrayList<>(named);
+                all.addAll(wildcards);
+                return all;
+            }
+        };
+    }
+
+    private static boolean isValidRename(@Nullable String rename) {
+        int separator = rename == null ? -1 : rename.indexOf(SEPARATOR);
+        if (separator <= 0) {
+            return false;
+        }
+        String methodPattern = rename.substring(0, separator).trim();
+        String newMethodName = rename.substring(separator + SEPARATOR.length()).trim();
+        int parameters = methodPattern.indexOf('(');
+        if (parameters < 0 || !methodPattern.endsWith(")") || methodPattern.lastIndexOf(' ', parameters) <= 0 ||
+            !isIdentifier(newMethodName)) {
+            return false;
+        }
+        try {
+            new MethodMatcher(methodPattern);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static boolean isIdentifier(String name) {
+        if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Value
+    private static class Rename {
+        MethodMatcher matcher;
+        String newMethodName;
+    }
+}
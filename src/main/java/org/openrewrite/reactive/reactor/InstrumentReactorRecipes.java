@@ -0,0 +1,385 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.config.DataTableDescriptor;
+import org.openrewrite.config.Environment;
+import org.openrewrite.config.RecipeDescriptor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.reactive.reactor.table.RecipeTimings;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class InstrumentReactorRecipes extends Recipe {
+
+    @Option(displayName = "Recipe",
+            description = "The fully qualified name of the recipe to run with instrumentation.",
+            example = "org.openrewrite.reactive.reactor.MigrateReactorApis_3_5")
+    String recipe;
+
+    @Option(displayName = "Micrometer timers",
+            description = "Also record the time spent by each recipe in a `rewrite.reactor.recipe` Micrometer timer, " +
+                          "and its matches in a `rewrite.reactor.recipe.matches` counter, in the global registry.",
+            required = false)
+    @Nullable
+    Boolean micrometer;
+
+    transient RecipeTimings recipeTimings = new RecipeTimings(this);
+
+    /**
+     * Activating the recipe scans the runtime classpath, so it is done once, when the recipe list is first needed.
+     */
+    @EqualsAndHashCode.Exclude
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final transient List<Recipe> instrumented = activate();
+
+    @Override
+    public String getDisplayName() {
+        return "Instrument Reactor recipes";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Runs a recipe and each of its sub-recipes while recording the LST elements in each visited source file, " +
+               "the method invocations and method references in it when the recipe's precondition accepts the file, the ones the recipe changed and the wall-clock time its visitor took. " +
+               "Use it to find which step of a slow migration is responsible.";
+    }
+
+    @Override
+    public Validated<Object> validate() {
+        return super.validate().and(Validated.test("recipe", "must be the name of a recipe on the classpath",
+                recipe, r -> !getInstrumented().isEmpty()));
+    }
+
+    @Override
+    public List<Recipe> getRecipeList() {
+        return getInstrumented();
+    }
+
+    private List<Recipe> activate() {
+        for (Recipe candidate : Environment.builder().scanRuntimeClasspath().build().listRecipes()) {
+            if (candidate.getName().equals(recipe)) {
+                return Collections.singletonList(instrument(candidate));
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private Recipe instrument(Recipe delegate) {
+        return delegate instanceof ScanningRecipe ?
+                new InstrumentedScanningRecipe<>((ScanningRecipe<?>) delegate) :
+                new InstrumentedRecipe(delegate);
+    }
+
+    private List<Recipe> instrument(List<Recipe> recipes) {
+        List<Recipe> instrumentedRecipes = new ArrayList<>(recipes.size());
+        for (Recipe r : recipes) {
+            instrumentedRecipes.add(instrument(r));
+        }
+        return instrumentedRecipes;
+    }
+
+    /**
+     * Only the recipes without sub-recipes do work of their own, so the visitors of composite recipes are not timed.
+     */
+    private TreeVisitor<?, ExecutionContext> instrument(Recipe delegate, TreeVisitor<?, ExecutionContext> visitor) {
+        return delegate.getRecipeList().isEmpty() ? new InstrumentingVisitor(delegate.getName(), visitor) : visitor;
+    }
+
+    private class InstrumentedRecipe extends Recipe {
+        private final Recipe delegate;
+
+        InstrumentedRecipe(Recipe delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return delegate.getDisplayName();
+        }
+
+        @Override
+        public String getDescription() {
+            return delegate.getDescription();
+        }
+
+        @Override
+        public boolean causesAnotherCycle() {
+            return delegate.causesAnotherCycle();
+        }
+
+        @Override
+        public int maxCycles() {
+            return delegate.maxCycles();
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return delegate.getTags();
+        }
+
+        @Override
+        public @Nullable Duration getEstimatedEffortPerOccurrence() {
+            return delegate.getEstimatedEffortPerOccurrence();
+        }
+
+        @Override
+        public List<DataTableDescriptor> getDataTableDescriptors() {
+            return delegate.getDataTableDescriptors();
+        }
+
+        @Override
+        protected RecipeDescriptor createRecipeDescriptor() {
+            return delegate.getDescriptor();
+        }
+
+        @Override
+        public Validated<Object> validate() {
+            return delegate.validate();
+        }
+
+        @Override
+        public Validated<Object> validate(ExecutionContext ctx) {
+            return delegate.validate(ctx);
+        }
+
+        @Override
+        public List<Recipe> getRecipeList() {
+            return instrument(delegate.getRecipeList());
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            return instrument(delegate, delegate.getVisitor());
+        }
+    }
+
+    private class InstrumentedScanningRecipe<T> extends ScanningRecipe<T> {
+        private final ScanningRecipe<T> delegate;
+
+        InstrumentedScanningRecipe(ScanningRecipe<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return delegate.getDisplayName();
+        }
+
+        @Override
+        public String getDescription() {
+            return delegate.getDescription();
+        }
+
+        @Override
+        public boolean causesAnotherCycle() {
+            return delegate.causesAnotherCycle();
+        }
+
+        @Override
+        public int maxCycles() {
+            return delegate.maxCycles();
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return delegate.getTags();
+        }
+
+        @Override
+        public @Nullable Duration getEstimatedEffortPerOccurrence() {
+            return delegate.getEstimatedEffortPerOccurrence();
+        }
+
+        @Override
+        public List<DataTableDescriptor> getDataTableDescriptors() {
+            return delegate.getDataTableDescriptors();
+        }
+
+        @Override
+        protected RecipeDescriptor createRecipeDescriptor() {
+            return delegate.getDescriptor();
+        }
+
+        @Override
+        public Validated<Object> validate() {
+            return delegate.validate();
+        }
+
+        @Override
+        public Validated<Object> validate(ExecutionContext ctx) {
+            return delegate.validate(ctx);
+        }
+
+        @Override
+        public List<Recipe> getRecipeList() {
+            return instrument(delegate.getRecipeList());
+        }
+
+        @Override
+        public T getInitialValue(ExecutionContext ctx) {
+            return delegate.getInitialValue(ctx);
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getScanner(T acc) {
+            return delegate.getScanner(acc);
+        }
+
+        @Override
+        public Collection<? extends SourceFile> generate(T acc, ExecutionContext ctx) {
+            return delegate.generate(acc, ctx);
+        }
+
+        @Override
+        public Collection<? extends SourceFile> generate(T acc, Collection<SourceFile> generatedInThisCycle, ExecutionContext ctx) {
+            return delegate.generate(acc, generatedInThisCycle, ctx);
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor(T acc) {
+            return instrument(delegate, delegate.getVisitor(acc));
+        }
+    }
+
+    private class InstrumentingVisitor extends TreeVisitor<Tree, ExecutionContext> {
+        private final String recipeName;
+        private final TreeVisitor<?, ExecutionContext> delegate;
+
+        InstrumentingVisitor(String recipeName, TreeVisitor<?, ExecutionContext> delegate) {
+            this.recipeName = recipeName;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+            return delegate.isAcceptable(sourceFile, ctx);
+        }
+
+        @Override
+        public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+            if (!(tree instanceof SourceFile)) {
+                return delegate.visit(tree, ctx, getCursor());
+            }
+            Counts before = Counts.of(tree);
+            long candidates = isCandidate(tree, ctx) ? before.invocations.size() : 0;
+            long start = System.nanoTime();
+            Tree after = delegate.visit(tree, ctx, getCursor());
+            long duration = System.nanoTime() - start;
+            long matches = after == tree || after == null ? 0 : Counts.of(after).changedFrom(before);
+
+            recipeTimings.insertRow(ctx, new RecipeTimings.Row(
+                    recipeName,
+                    ((SourceFile) tree).getSourcePath().toString(),
+                    before.elements,
+                    candidates,
+                    matches,
+                    duration));
+            if (Boolean.TRUE.equals(micrometer)) {
+                Timer.builder("rewrite.reactor.recipe")
+                        .description("The time spent by a recipe's visitor on a source file")
+                        .tag("recipe", recipeName)
+                        .tag("outcome", after == tree ? "unchanged" : "changed")
+                        .register(Metrics.globalRegistry)
+                        .record(duration, TimeUnit.NANOSECONDS);
+                Metrics.counter("rewrite.reactor.recipe.matches", "recipe", recipeName).increment(matches);
+            }
+            return after;
+        }
+
+        /**
+         * A source file is a candidate for the recipe when the precondition of its visitor, such as a {@code UsesMethod}
+         * or {@code UsesType} check, accepts it. The visitors of recipes without a precondition visit every file.
+         */
+        private boolean isCandidate(Tree tree, ExecutionContext ctx) {
+            if (!(delegate instanceof Preconditions.Check)) {
+                return true;
+            }
+            return ((Preconditions.Check) delegate).getCheck().visit(tree, ctx, getCursor()) != tree;
+        }
+    }
+
+    private static class Counts {
+        long elements;
+
+        /**
+         * The name of each method invocation and method reference, by id.
+         */
+        final Map<UUID, String> invocations = new HashMap<>();
+
+        static Counts of(Tree tree) {
+            Counts counts = new Counts();
+            if (!(tree instanceof J)) {
+                return counts;
+            }
+            new JavaIsoVisitor<Counts>() {
+                @Override
+                public @Nullable J preVisit(J tree, Counts c) {
+                    c.elements++;
+                    if (tree instanceof J.MethodInvocation) {
+                        c.invocations.put(tree.getId(), ((J.MethodInvocation) tree).getSimpleName());
+                    } else if (tree instanceof J.MemberReference) {
+                        c.invocations.put(tree.getId(), ((J.MemberReference) tree).getReference().getSimpleName());
+                    }
+                    return tree;
+                }
+            }.visit(tree, counts);
+            return counts;
+        }
+
+        /**
+         * Invocations that only changed because one of their arguments or their select changed keep their id
+         * and name, so they are not counted as matches.
+         */
+        long changedFrom(Counts before) {
+            long changed = 0;
+            for (Map.Entry<UUID, String> invocation : invocations.entrySet()) {
+                if (!invocation.getValue().equals(before.invocations.get(invocation.getKey()))) {
+                    changed++;
+                }
+            }
+            for (UUID removed : before.invocations.keySet()) {
+                if (!invocations.containsKey(removed)) {
+                    changed++;
+                }
+            }
+            return changed;
+        }
+    }
+}
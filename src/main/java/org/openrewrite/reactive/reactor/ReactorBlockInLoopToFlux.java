@@ -0,0 +1,207 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.reactive.reactor.table.BlockingCallsInLoops;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class ReactorBlockInLoopToFlux extends Recipe {
+
+    private static final MethodMatcher MONO_BLOCK = new MethodMatcher("reactor.core.publisher.Mono block()");
+    private static final MethodMatcher COLLECTION_ADD = new MethodMatcher("java.util.Collection add(..)", true);
+    private static final MethodMatcher ITERABLE_FOR_EACH = new MethodMatcher("java.lang.Iterable forEach(java.util.function.Consumer)", true);
+
+    private static final int DEFAULT_CONCURRENCY = 8;
+
+    @Option(displayName = "Concurrency",
+            description = "The maximum number of `Mono`s subscribed to at the same time. Defaults to 8.",
+            example = "8",
+            required = false)
+    @Nullable
+    Integer concurrency;
+
+    transient BlockingCallsInLoops blockingCallsInLoops = new BlockingCallsInLoops(this);
+
+    @Override
+    public String getDisplayName() {
+        return "Batch `Mono.block()` calls in loops into a single `Flux`";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Loops that add `mono.block()` to a collection for each element wait for one round trip after the other. " +
+               "Rewrites `for (T t : ts) results.add(mono(t).block())` and `ts.forEach(t -> results.add(mono(t).block()))` to " +
+               "`results.addAll(Flux.fromIterable(ts).flatMapSequential(t -> mono(t), concurrency).collectList().block())`, " +
+               "which subscribes to several `Mono`s at once while keeping the order of the results. " +
+               "Empty `Mono`s no longer add `null` to the collection, and an error leaves the collection unchanged. " +
+               "Other loops containing `Mono.block()` are recorded in a data table.";
+    }
+
+    @Override
+    public Validated<Object> validate() {
+        return super.validate().and(Validated.test("concurrency", "must be positive",
+                concurrency, c -> c == null || c > 0));
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(new UsesMethod<>(MONO_BLOCK), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitForEachLoop(J.ForEachLoop forLoop, ExecutionContext ctx) {
+                Expression iterable = forLoop.getControl().getIterable();
+                String variable = forLoop.getControl().getVariable().getVariables().get(0).getSimpleName();
+                J.MethodInvocation add = singleAddOfBlock(forLoop.getBody(), variable);
+                if (add != null && isIterable(iterable) && canCapture(add, getCursor())) {
+                    return batch(forLoop.getCoordinates().replace(), add, iterable, variable, ctx);
+                }
+                return super.visitForEachLoop(forLoop, ctx);
+            }
+
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                if (ITERABLE_FOR_EACH.matches(method) && method.getSelect() != null &&
+                    method.getArguments().get(0) instanceof J.Lambda) {
+                    J.Lambda lambda = (J.Lambda) method.getArguments().get(0);
+                    J parameter = lambda.getParameters().getParameters().get(0);
+                    if (parameter instanceof J.VariableDeclarations) {
+                        String variable = ((J.VariableDeclarations) parameter).getVariables().get(0).getSimpleName();
+                        J.MethodInvocation add = singleAddOfBlock(lambda.getBody(), variable);
+                        if (add != null && canCapture(add, getCursor())) {
+                            return batch(method.getCoordinates().replace(), add, method.getSelect(), variable, ctx);
+                        }
+                    }
+                }
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                if (MONO_BLOCK.matches(mi)) {
+                    String reason = reasonInLoop(getCursor());
+                    if (reason != null) {
+                        blockingCallsInLoops.insertRow(ctx, new BlockingCallsInLoops.Row(
+                                getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString(),
+                                mi.printTrimmed(getCursor().getParentTreeCursor()),
+                                reason));
+                    }
+                }
+                return mi;
+            }
+
+            private J batch(JavaCoordinates coordinates, J.MethodInvocation add, Expression iterable, String variable, ExecutionContext ctx) {
+                J.MethodInvocation block = (J.MethodInvocation) add.getArguments().get(0);
+                maybeAddImport("reactor.core.publisher.Flux");
+                return JavaTemplate.builder("#{any(java.util.Collection)}.addAll(Flux.fromIterable(#{any(java.lang.Iterable)})" +
+                                            ".flatMapSequential(#{} -> #{any(reactor.core.publisher.Mono)}, #{}).collectList().block())")
+                        .imports("reactor.core.publisher.Flux")
+                        .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "reactor-core-3.4", "reactive-streams"))
+                        .build()
+                        .apply(getCursor(), coordinates,
+                                add.getSelect(), iterable, variable, block.getSelect(),
+                                String.valueOf(concurrency == null ? DEFAULT_CONCURRENCY : concurrency));
+            }
+        });
+    }
+
+    /**
+     * @return the only statement of the loop body, if it adds the result of {@code Mono.block()} to a collection
+     * that does not depend on the loop variable.
+     */
+    private static J.@Nullable MethodInvocation singleAddOfBlock(J body, String variable) {
+        J statement = body;
+        if (body instanceof J.Block) {
+            if (((J.Block) body).getStatements().size() != 1) {
+                return null;
+            }
+            statement = ((J.Block) body).getStatements().get(0);
+        }
+        if (!(statement instanceof J.MethodInvocation) || !COLLECTION_ADD.matches((J.MethodInvocation) statement)) {
+            return null;
+        }
+        J.MethodInvocation add = (J.MethodInvocation) statement;
+        Expression collection = add.getSelect();
+        boolean stableCollection = collection instanceof J.Identifier && !((J.Identifier) collection).getSimpleName().equals(variable) ||
+                                   collection instanceof J.FieldAccess && ((J.FieldAccess) collection).getTarget() instanceof J.Identifier &&
+                                   "this".equals(((J.Identifier) ((J.FieldAccess) collection).getTarget()).getSimpleName());
+        if (!stableCollection || add.getArguments().size() != 1 || !(add.getArguments().get(0) instanceof J.MethodInvocation)) {
+            return null;
+        }
+        J.MethodInvocation block = (J.MethodInvocation) add.getArguments().get(0);
+        return MONO_BLOCK.matches(block) && block.getSelect() != null ? add : null;
+    }
+
+    private static boolean isIterable(Expression iterable) {
+        return TypeUtils.isAssignableTo("java.lang.Iterable", iterable.getType());
+    }
+
+    /**
+     * @return why the blocking call was not batched, or {@code null} if it is not repeated in a loop body.
+     */
+    private static @Nullable String reasonInLoop(Cursor cursor) {
+        Object child = cursor.getValue();
+        for (Cursor c = cursor.getParentTreeCursor(); !(c.getValue() instanceof SourceFile); c = c.getParentTreeCursor()) {
+            Object value = c.getValue();
+            if (value instanceof J.MethodDeclaration || value instanceof J.ClassDeclaration) {
+                return null;
+            }
+            if (value instanceof J.ForEachLoop && ((J.ForEachLoop) value).getBody() == child) {
+                J.ForEachLoop.Control control = ((J.ForEachLoop) value).getControl();
+                return isIterable(control.getIterable()) ?
+                        reasonInBody((J) child, control.getVariable().getVariables().get(0).getSimpleName()) :
+                        "Only loops over an `Iterable` are rewritten";
+            }
+            if (value instanceof J.ForLoop && ((J.ForLoop) value).getBody() == child ||
+                value instanceof J.WhileLoop && ((J.WhileLoop) value).getBody() == child ||
+                value instanceof J.DoWhileLoop && ((J.DoWhileLoop) value).getBody() == child) {
+                return "Only for-each loops and `Iterable.forEach(..)` are rewritten";
+            }
+            if (value instanceof J.Lambda) {
+                Cursor parent = c.getParentTreeCursor();
+                J parameter = ((J.Lambda) value).getParameters().getParameters().get(0);
+                if (!(parent.getValue() instanceof J.MethodInvocation) || !ITERABLE_FOR_EACH.matches((J.MethodInvocation) parent.getValue())) {
+                    return null;
+                }
+                return parameter instanceof J.VariableDeclarations ?
+                        reasonInBody((J) child, ((J.VariableDeclarations) parameter).getVariables().get(0).getSimpleName()) :
+                        "The loop body does more than add the result of `block()` to a collection";
+            }
+            child = value;
+        }
+        return null;
+    }
+
+    private static String reasonInBody(J body, String variable) {
+        return singleAddOfBlock(body, variable) == null ?
+                "The loop body does more than add the result of `block()` to a collection" :
+                "The `Mono` refers to local variables that are not effectively final";
+    }
+
+    /**
+     * The {@code Mono} expression is moved into the lambda passed to {@code flatMapSequential(..)}, which can only
+     * capture local variables that are effectively final, such as the variable of the loop itself.
+     */
+    private static boolean canCapture(J.MethodInvocation add, Cursor loop) {
+        Expression mono = ((J.MethodInvocation) add.getArguments().get(0)).getSelect();
+        return mono != null && ReactorLazyFallbackValues.canCapture(mono, loop);
+    }
+}
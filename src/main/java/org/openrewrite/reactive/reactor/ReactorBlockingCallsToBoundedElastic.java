@@ -0,0 +1,189 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.reactive.reactor.table.BlockingCallsInOperators;
+
+import java.util.*;
+
+public class ReactorBlockingCallsToBoundedElastic extends Recipe {
+
+    private static final MethodMatcher FLUX_OPERATOR = new MethodMatcher("reactor.core.publisher.Flux *(..)");
+    private static final MethodMatcher MONO_OPERATOR = new MethodMatcher("reactor.core.publisher.Mono *(..)");
+
+    private static final Set<String> OPERATORS = new HashSet<>(Arrays.asList(
+            "map", "flatMap", "flatMapMany", "flatMapSequential", "concatMap", "switchMap",
+            "handle", "filter", "doOnNext", "doOnSuccess"));
+
+    private static final List<MethodMatcher> BLOCKING_CALLS = Arrays.asList(
+            new MethodMatcher("reactor.core.publisher.Mono block(..)"),
+            new MethodMatcher("reactor.core.publisher.Mono blockOptional(..)"),
+            new MethodMatcher("reactor.core.publisher.Flux blockFirst(..)"),
+            new MethodMatcher("reactor.core.publisher.Flux blockLast(..)"),
+            new MethodMatcher("java.lang.Thread sleep(..)"),
+            new MethodMatcher("java.util.concurrent.Future get(..)", true),
+            new MethodMatcher("java.util.concurrent.CompletableFuture join()"),
+            new MethodMatcher("javax.sql.DataSource getConnection(..)", true),
+            new MethodMatcher("java.sql.Statement execute*(..)", true),
+            new MethodMatcher("java.sql.Connection commit()", true),
+            new MethodMatcher("java.sql.Connection rollback(..)", true));
+
+    transient BlockingCallsInOperators blockingCalls = new BlockingCallsInOperators(this);
+
+    @Override
+    public String getDisplayName() {
+        return "Move blocking calls in operator lambdas onto `Schedulers.boundedElastic()`";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Blocking calls such as `Mono.block()`, `Thread.sleep(..)` or JDBC statements inside `map`, `flatMap` or " +
+               "`doOnNext` lambdas stall the event loop or parallel scheduler they run on. " +
+               "Rewrites `map` lambdas that contain a blocking call to `Mono.fromCallable(..).subscribeOn(Schedulers.boundedElastic())`, " +
+               "and records the blocking calls in other operator lambdas in a data table. Since `fromCallable` completes empty " +
+               "where `map` fails on a `null` result, values that may be `null` are wrapped in `Objects.requireNonNull(..)`, " +
+               "so the element still results in a `NullPointerException` instead of being silently dropped.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(Preconditions.or(
+                new UsesType<>("reactor.core.publisher.Flux", false),
+                new UsesType<>("reactor.core.publisher.Mono", false)
+        ), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                boolean flux = FLUX_OPERATOR.matches(mi);
+                if ((!flux && !MONO_OPERATOR.matches(mi)) || !OPERATORS.contains(mi.getSimpleName()) || mi.getSelect() == null) {
+                    return mi;
+                }
+                for (Expression argument : mi.getArguments()) {
+                    if (!(argument instanceof J.Lambda)) {
+                        continue;
+                    }
+                    J.Lambda lambda = (J.Lambda) argument;
+                    List<J.MethodInvocation> blocking = findBlockingCalls(lambda.getBody());
+                    if (blocking.isEmpty()) {
+                        continue;
+                    }
+                    if ("map".equals(mi.getSimpleName()) && isExpressionLambdaWithSingleParameter(lambda)) {
+                        maybeAddImport("reactor.core.publisher.Mono");
+                        maybeAddImport("reactor.core.scheduler.Schedulers");
+                        String selectType = flux ? "reactor.core.publisher.Flux" : "reactor.core.publisher.Mono";
+                        String operator = flux ? "concatMap" : "flatMap";
+                        String value = "#{any()}";
+                        if (mayBeNull((Expression) lambda.getBody())) {
+                            maybeAddImport("java.util.Objects");
+                            value = "Objects.requireNonNull(#{any()}, \"The mapper returned a null value.\")";
+                        }
+                        return JavaTemplate.builder("#{any(" + selectType + ")}." + operator + "(#{} -> Mono.fromCallable(() -> " + value + ").subscribeOn(Schedulers.boundedElastic()))")
+                                .imports("java.util.Objects", "reactor.core.publisher.Mono", "reactor.core.scheduler.Schedulers")
+                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "reactor-core-3.4", "reactive-streams"))
+                                .build()
+                                .apply(getCursor(), mi.getCoordinates().replace(),
+                                        mi.getSelect(), parameterName(lambda), lambda.getBody());
+                    }
+                    String reason = "map".equals(mi.getSimpleName()) ?
+                            "Only `map` lambdas with a single parameter and an expression body are rewritten" :
+                            "Blocking calls in `" + mi.getSimpleName() + "` require a manual rewrite";
+                    String sourcePath = getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString();
+                    for (J.MethodInvocation call : blocking) {
+                        blockingCalls.insertRow(ctx, new BlockingCallsInOperators.Row(
+                                sourcePath,
+                                mi.getSimpleName(),
+                                describe(call),
+                                reason));
+                    }
+                }
+                return mi;
+            }
+        });
+    }
+
+    private static List<J.MethodInvocation> findBlockingCalls(J body) {
+        List<J.MethodInvocation> found = new ArrayList<>();
+        new JavaIsoVisitor<List<J.MethodInvocation>>() {
+            @Override
+            public J.Lambda visitLambda(J.Lambda lambda, List<J.MethodInvocation> found) {
+                // Nested lambdas are deferred work, which is not necessarily run on the operator's thread
+                return lambda;
+            }
+
+            @Override
+            public J.NewClass visitNewClass(J.NewClass newClass, List<J.MethodInvocation> found) {
+                return newClass.getBody() == null ? super.visitNewClass(newClass, found) : newClass;
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, List<J.MethodInvocation> found) {
+                for (MethodMatcher blockingCall : BLOCKING_CALLS) {
+                    if (blockingCall.matches(method)) {
+                        found.add(method);
+                        break;
+                    }
+                }
+                return super.visitMethodInvocation(method, found);
+            }
+        }.visit(body, found);
+        return found;
+    }
+
+    /**
+     * Primitives, string concatenations, literals and object creation are never {@code null}.
+     */
+    private static boolean mayBeNull(Expression value) {
+        if (value instanceof J.Binary || value instanceof J.NewClass) {
+            return false;
+        }
+        if (value instanceof J.Literal) {
+            return ((J.Literal) value).getValue() == null;
+        }
+        // `String` and the `null` type are modeled as primitives too
+        JavaType type = value.getType();
+        return !(type instanceof JavaType.Primitive) ||
+               type == JavaType.Primitive.String || type == JavaType.Primitive.Null || type == JavaType.Primitive.None;
+    }
+
+    private static boolean isExpressionLambdaWithSingleParameter(J.Lambda lambda) {
+        return lambda.getBody() instanceof Expression &&
+               lambda.getParameters().getParameters().size() == 1 &&
+               parameterName(lambda) != null;
+    }
+
+    private static @Nullable String parameterName(J.Lambda lambda) {
+        J parameter = lambda.getParameters().getParameters().get(0);
+        if (parameter instanceof J.VariableDeclarations) {
+            return ((J.VariableDeclarations) parameter).getVariables().get(0).getSimpleName();
+        }
+        return null;
+    }
+
+    private static String describe(J.MethodInvocation call) {
+        JavaType.Method methodType = call.getMethodType();
+        return methodType == null ? call.getSimpleName() :
+                methodType.getDeclaringType().getClassName() + "#" + methodType.getName();
+    }
+}
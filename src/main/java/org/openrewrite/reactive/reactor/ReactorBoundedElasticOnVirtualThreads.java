@@ -0,0 +1,134 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.openrewrite.*;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesJavaVersion;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.reactive.reactor.table.BoundedElasticSchedulers;
+
+public class ReactorBoundedElasticOnVirtualThreads extends ScanningRecipe<ReactorBoundedElasticOnVirtualThreads.Accumulator> {
+
+    private static final MethodMatcher BOUNDED_ELASTIC = new MethodMatcher("reactor.core.scheduler.Schedulers boundedElastic()");
+    private static final MethodMatcher NEW_BOUNDED_ELASTIC =
+            new MethodMatcher("reactor.core.scheduler.Schedulers newBoundedElastic(int, int, java.lang.String, ..)");
+    private static final MethodMatcher SET_PROPERTY = new MethodMatcher("java.lang.System setProperty(java.lang.String, java.lang.String)");
+    private static final MethodMatcher MAIN = new MethodMatcher("*..* main(java.lang.String[])");
+
+    private static final String VIRTUAL_THREADS_PROPERTY = "reactor.schedulers.defaultBoundedElasticOnVirtualThreads";
+
+    transient BoundedElasticSchedulers boundedElasticSchedulers = new BoundedElasticSchedulers(this);
+
+    public static class Accumulator {
+        boolean usesBoundedElastic;
+        boolean configured;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Run the default bounded elastic scheduler on virtual threads";
+    }
+
+    @Override
+    public String getDescription() {
+        return "On Java 21 and Reactor 3.6, `Schedulers.boundedElastic()` runs its tasks on virtual threads when the " +
+               "`reactor.schedulers.defaultBoundedElasticOnVirtualThreads` system property is `true`. When the project uses " +
+               "`Schedulers.boundedElastic()` and does not set the property yet, sets it at the start of each `main` method, " +
+               "before the `Schedulers` class is initialized. Schedulers created by `Schedulers.newBoundedElastic(..)` keep their " +
+               "own platform threads, caps, thread names and lifecycle, and are reported in a data table along with the added configuration.";
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        return new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                if (BOUNDED_ELASTIC.matches(method)) {
+                    acc.usesBoundedElastic = true;
+                } else if (SET_PROPERTY.matches(method) && isVirtualThreadsProperty(method.getArguments().get(0))) {
+                    acc.configured = true;
+                }
+                return super.visitMethodInvocation(method, ctx);
+            }
+        };
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        return Preconditions.check(new UsesJavaVersion<>(21, Integer.MAX_VALUE), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                J.MethodDeclaration md = super.visitMethodDeclaration(method, ctx);
+                if (!acc.usesBoundedElastic || acc.configured || md.getBody() == null ||
+                    !md.hasModifier(J.Modifier.Type.Static) || !MAIN.matches(md.getMethodType())) {
+                    return md;
+                }
+                md = JavaTemplate.builder("System.setProperty(\"" + VIRTUAL_THREADS_PROPERTY + "\", \"true\");")
+                        .javaParser(JavaParser.fromJavaVersion())
+                        .build()
+                        .apply(updateCursor(md), md.getBody().getCoordinates().firstStatement());
+                boundedElasticSchedulers.insertRow(ctx, new BoundedElasticSchedulers.Row(
+                        getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString(),
+                        "System.setProperty(\"" + VIRTUAL_THREADS_PROPERTY + "\", \"true\")",
+                        "Added to `main`, so that `Schedulers.boundedElastic()` runs on virtual threads"));
+                return md;
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
+                if (!NEW_BOUNDED_ELASTIC.matches(mi)) {
+                    return mi;
+                }
+                boolean defaults = mi.getArguments().size() == 3 &&
+                                   isSchedulersConstant(mi.getArguments().get(0), "DEFAULT_BOUNDED_ELASTIC_SIZE") &&
+                                   isSchedulersConstant(mi.getArguments().get(1), "DEFAULT_BOUNDED_ELASTIC_QUEUESIZE");
+                boundedElasticSchedulers.insertRow(ctx, new BoundedElasticSchedulers.Row(
+                        getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString(),
+                        mi.printTrimmed(getCursor().getParentTreeCursor()),
+                        defaults ? "Unchanged: the dedicated scheduler uses the default caps, and only moves onto virtual threads " +
+                                   "if it is replaced by `Schedulers.boundedElastic()`" :
+                                mi.getArguments().size() == 3 ? "Unchanged: the scheduler has its own thread cap or queued task cap" :
+                                        "Unchanged: the scheduler has its own TTL or daemon flag"));
+                return mi;
+            }
+        });
+    }
+
+    private static boolean isVirtualThreadsProperty(Expression key) {
+        return key instanceof J.Literal && VIRTUAL_THREADS_PROPERTY.equals(((J.Literal) key).getValue());
+    }
+
+    private static boolean isSchedulersConstant(Expression argument, String name) {
+        JavaType.Variable constant = argument instanceof J.FieldAccess ?
+                ((J.FieldAccess) argument).getName().getFieldType() :
+                argument instanceof J.Identifier ? ((J.Identifier) argument).getFieldType() : null;
+        return constant != null && name.equals(constant.getName()) &&
+               TypeUtils.isOfClassType(constant.getOwner(), "reactor.core.scheduler.Schedulers");
+    }
+}
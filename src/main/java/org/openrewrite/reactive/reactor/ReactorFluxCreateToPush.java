@@ -0,0 +1,184 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ReactorFluxCreateToPush extends Recipe {
+
+    private static final MethodMatcher CREATE = new MethodMatcher("reactor.core.publisher.Flux create(java.util.function.Consumer, ..)");
+
+    private static final Set<String> EMISSIONS = new HashSet<>(Arrays.asList("next", "complete", "error"));
+
+    /**
+     * Methods that may run the callbacks passed to them on several threads at once, such as {@code forEach} on a
+     * parallel stream, or tasks submitted to an executor or scheduler.
+     */
+    private static final List<MethodMatcher> CONCURRENT_CALLBACKS = Arrays.asList(
+            new MethodMatcher("java.lang.Iterable forEach(..)", true),
+            new MethodMatcher("java.util.Map forEach(..)", true),
+            new MethodMatcher("java.util.stream.BaseStream forEach*(..)", true),
+            new MethodMatcher("java.util.concurrent.Executor execute(..)", true),
+            new MethodMatcher("java.util.concurrent.ExecutorService submit(..)", true),
+            new MethodMatcher("java.util.concurrent.ScheduledExecutorService schedule*(..)", true),
+            new MethodMatcher("java.util.concurrent.CompletableFuture *Async(..)"),
+            new MethodMatcher("reactor.core.scheduler.Scheduler schedule*(..)", true),
+            new MethodMatcher("reactor.core.scheduler.Scheduler$Worker schedule*(..)", true));
+
+    @Override
+    public String getDisplayName() {
+        return "Use `Flux.push` for single producer `Flux.create`";
+    }
+
+    @Override
+    public String getDescription() {
+        return "`Flux.create` serializes every signal through a sink that is safe for concurrent producers. " +
+               "Replaces `Flux.create(sink -> ..)` with `Flux.push(sink -> ..)` when all emissions on the `FluxSink` are made " +
+               "while the lambda runs, or all come from a single callback that is registered once, outside of a loop. " +
+               "Emitters that pass the sink elsewhere, or emit from callbacks that may run concurrently, such as `forEach` " +
+               "on a parallel stream or tasks submitted to an executor, are left unchanged. " +
+               "`FindUnboundedBuffers` reports the calls that keep the default, unbounded `OverflowStrategy.BUFFER`.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(new UsesMethod<>(CREATE), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                if (!CREATE.matches(mi) || !(mi.getArguments().get(0) instanceof J.Lambda)) {
+                    return mi;
+                }
+                J.Lambda emitter = (J.Lambda) mi.getArguments().get(0);
+                String sink = parameterName(emitter);
+                if (sink == null || !isSingleProducer(emitter, sink)) {
+                    return mi;
+                }
+                JavaType.Method methodType = mi.getMethodType() == null ? null : mi.getMethodType().withName("push");
+                return mi
+                        .withName(mi.getName().withSimpleName("push").withType(methodType))
+                        .withMethodType(methodType);
+            }
+        });
+    }
+
+    private static @Nullable String parameterName(J.Lambda lambda) {
+        if (lambda.getParameters().getParameters().size() != 1) {
+            return null;
+        }
+        J parameter = lambda.getParameters().getParameters().get(0);
+        return parameter instanceof J.VariableDeclarations ?
+                ((J.VariableDeclarations) parameter).getVariables().get(0).getSimpleName() :
+                null;
+    }
+
+    /**
+     * @return whether the sink is only used through its own methods, and all emissions happen in the same context.
+     */
+    private static boolean isSingleProducer(J.Lambda emitter, String sink) {
+        Set<J> contexts = Collections.newSetFromMap(new IdentityHashMap<>());
+        AtomicBoolean escapes = new AtomicBoolean();
+        new JavaIsoVisitor<Set<J>>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier ident, Set<J> contexts) {
+                if (!sink.equals(ident.getSimpleName()) || ident.getFieldType() == null) {
+                    return ident;
+                }
+                Cursor parentCursor = getCursor().getParentTreeCursor();
+                Object parent = parentCursor.getValue();
+                J context;
+                if (parent instanceof J.VariableDeclarations.NamedVariable) {
+                    return ident;
+                } else if (parent instanceof J.MethodInvocation && ((J.MethodInvocation) parent).getSelect() == ident) {
+                    if (!EMISSIONS.contains(((J.MethodInvocation) parent).getSimpleName())) {
+                        return ident;
+                    }
+                    context = emissionContext(getCursor(), null, emitter);
+                } else if (parent instanceof J.MemberReference && ((J.MemberReference) parent).getContaining() == ident) {
+                    if (!EMISSIONS.contains(((J.MemberReference) parent).getReference().getSimpleName())) {
+                        return ident;
+                    }
+                    // A method reference such as `sink::next` is a callback of its own
+                    context = emissionContext(parentCursor, (J) parent, emitter);
+                } else {
+                    context = null;
+                }
+                if (context == null) {
+                    escapes.set(true);
+                } else {
+                    contexts.add(context);
+                }
+                return ident;
+            }
+        }.visit(emitter, contexts);
+        return !escapes.get() && contexts.size() == 1;
+    }
+
+    /**
+     * @param callback The innermost callback around the emission found so far, if any.
+     * @return the emitter itself for emissions made while it runs, the lambda, anonymous class or method reference
+     * making the emission when it is registered once, or {@code null} when it may be registered more than once,
+     * or run concurrently.
+     */
+    private static @Nullable J emissionContext(Cursor from, @Nullable J callback, J.Lambda emitter) {
+        J context = callback;
+        Object child = from.getValue();
+        for (Cursor c = from.getParentTreeCursor(); c.getValue() != emitter; child = c.getValue(), c = c.getParentTreeCursor()) {
+            Object value = c.getValue();
+            if (context == child && isConcurrentCallback(value, context)) {
+                return null;
+            }
+            boolean isCallback = value instanceof J.Lambda || value instanceof J.NewClass && ((J.NewClass) value).getBody() != null;
+            if (isCallback && context == null) {
+                context = (J) value;
+            } else if (context != null && (isCallback || isLoop(value))) {
+                return null;
+            }
+        }
+        return context == null ? emitter : context;
+    }
+
+    private static boolean isConcurrentCallback(Object tree, J callback) {
+        if (!(tree instanceof J.MethodInvocation) || !((J.MethodInvocation) tree).getArguments().contains(callback)) {
+            return false;
+        }
+        for (MethodMatcher matcher : CONCURRENT_CALLBACKS) {
+            if (matcher.matches((J.MethodInvocation) tree)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLoop(Object tree) {
+        return tree instanceof J.ForLoop || tree instanceof J.ForEachLoop ||
+               tree instanceof J.WhileLoop || tree instanceof J.DoWhileLoop;
+    }
+}
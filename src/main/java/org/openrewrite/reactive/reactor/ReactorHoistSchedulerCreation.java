@@ -0,0 +1,315 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.openrewrite.*;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.reactive.reactor.table.PerCallSchedulers;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ReactorHoistSchedulerCreation extends Recipe {
+
+    private static final String SCHEDULER = "reactor.core.scheduler.Scheduler";
+
+    private static final List<MethodMatcher> SCHEDULER_FACTORIES = Arrays.asList(
+            new MethodMatcher("reactor.core.scheduler.Schedulers newParallel(..)"),
+            new MethodMatcher("reactor.core.scheduler.Schedulers newBoundedElastic(..)"),
+            new MethodMatcher("reactor.core.scheduler.Schedulers newSingle(..)"),
+            new MethodMatcher("reactor.core.scheduler.Schedulers newElastic(..)"),
+            new MethodMatcher("reactor.core.scheduler.Schedulers fromExecutor(..)"),
+            new MethodMatcher("reactor.core.scheduler.Schedulers fromExecutorService(..)"));
+
+    /**
+     * Static factories that may appear in the arguments of a hoisted scheduler factory call.
+     */
+    private static final List<MethodMatcher> STATIC_ARGUMENTS = Arrays.asList(
+            new MethodMatcher("java.util.concurrent.Executors *(..)"),
+            new MethodMatcher("java.lang.Runtime getRuntime()"),
+            new MethodMatcher("java.lang.Runtime availableProcessors()"));
+
+    private static final MethodMatcher NEW_SINGLE = new MethodMatcher("reactor.core.scheduler.Schedulers newSingle(..)");
+    private static final MethodMatcher NEW_PARALLEL = new MethodMatcher("reactor.core.scheduler.Schedulers newParallel(..)");
+    private static final MethodMatcher SINGLE_THREAD_EXECUTOR = new MethodMatcher("java.util.concurrent.Executors newSingleThread*(..)");
+
+    transient PerCallSchedulers perCallSchedulers = new PerCallSchedulers(this);
+
+    @Override
+    public String getDisplayName() {
+        return "Move per-call scheduler creation into static fields";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Schedulers created by `Schedulers.newParallel(..)`, `Schedulers.newBoundedElastic(..)` or " +
+               "`Schedulers.fromExecutorService(..)` in an instance method start new threads on every call, and are rarely disposed. " +
+               "Moves factory calls that are passed straight to a `Flux` or `Mono` operator into a `private static final` field, " +
+               "disposed by a shutdown hook. Calls with arguments that depend on instance or local state, schedulers that are " +
+               "stored or returned, and single threaded schedulers, which would make all callers share one thread, " +
+               "are recorded in a data table instead. Only classes, enums and records get new fields.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(new UsesType<>("reactor.core.scheduler.Schedulers", false), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
+                J.ClassDeclaration.Kind.Type kind = cd.getKind();
+                // Interfaces and annotations cannot declare private fields or static initializers
+                boolean canDeclareStatic = kind == J.ClassDeclaration.Kind.Type.Enum || kind == J.ClassDeclaration.Kind.Type.Record ||
+                                           kind == J.ClassDeclaration.Kind.Type.Class &&
+                                           (getCursor().getParentTreeCursor().getValue() instanceof SourceFile ||
+                                            cd.hasModifier(J.Modifier.Type.Static));
+                String sourcePath = getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString();
+                String className = cd.getSimpleName();
+
+                Set<String> taken = new HashSet<>();
+                for (Statement statement : cd.getBody().getStatements()) {
+                    if (statement instanceof J.VariableDeclarations) {
+                        for (J.VariableDeclarations.NamedVariable variable : ((J.VariableDeclarations) statement).getVariables()) {
+                            taken.add(variable.getSimpleName());
+                        }
+                    }
+                }
+                Map<String, J.MethodInvocation> fields = new LinkedHashMap<>();
+                Map<String, String> fieldsByCall = new HashMap<>();
+                Map<UUID, String> hoisted = new HashMap<>();
+                new JavaIsoVisitor<ExecutionContext>() {
+                    @Override
+                    public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration nested, ExecutionContext ctx) {
+                        // Nested classes hoist into their own fields
+                        return nested;
+                    }
+
+                    @Override
+                    public J.NewClass visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+                        return newClass.getBody() == null ? super.visitNewClass(newClass, ctx) : newClass;
+                    }
+
+                    @Override
+                    public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                        if (method.isConstructor() || method.hasModifier(J.Modifier.Type.Static)) {
+                            return method;
+                        }
+                        return super.visitMethodDeclaration(method, ctx);
+                    }
+
+                    @Override
+                    public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                        if (SCHEDULER_FACTORIES.stream().noneMatch(m -> m.matches(method))) {
+                            return super.visitMethodInvocation(method, ctx);
+                        }
+                        J.MethodDeclaration enclosing = getCursor().firstEnclosing(J.MethodDeclaration.class);
+                        if (enclosing == null) {
+                            // Field initializers and initializer blocks do not run per call
+                            return method;
+                        }
+                        String reason = null;
+                        if (!canDeclareStatic) {
+                            reason = "The enclosing type cannot declare private static fields";
+                        } else if (!hasStaticArguments(method)) {
+                            reason = "The arguments depend on instance or local state";
+                        } else if (!isOperatorArgument(method, getCursor())) {
+                            reason = "The scheduler is stored or returned, and may be disposed by its caller";
+                        } else if (isSingleThreaded(method)) {
+                            reason = "The scheduler has a single thread, which all callers would share";
+                        }
+                        if (reason != null) {
+                            perCallSchedulers.insertRow(ctx, new PerCallSchedulers.Row(
+                                    sourcePath,
+                                    className + "#" + enclosing.getSimpleName(),
+                                    method.printTrimmed(getCursor().getParentTreeCursor()),
+                                    reason));
+                            return method;
+                        }
+                        String name = fieldsByCall.computeIfAbsent(method.printTrimmed(getCursor().getParentTreeCursor()), call -> {
+                            String fieldName = uniqueName(fieldName(method), taken);
+                            taken.add(fieldName);
+                            fields.put(fieldName, method);
+                            return fieldName;
+                        });
+                        hoisted.put(method.getId(), name);
+                        return method;
+                    }
+                }.visit(cd.getBody(), ctx, new Cursor(getCursor().getParentOrThrow(), cd));
+
+                if (fields.isEmpty()) {
+                    return cd;
+                }
+
+                // The constants of an enum come before any field
+                int first = cd.getBody().getStatements().isEmpty() ||
+                            !(cd.getBody().getStatements().get(0) instanceof J.EnumValueSet) ? 0 : 1;
+                List<String> names = new ArrayList<>(fields.keySet());
+                Collections.reverse(names);
+                for (String name : names) {
+                    cd = JavaTemplate.builder("private static final Scheduler #{} = #{any(" + SCHEDULER + ")};")
+                            .imports(SCHEDULER)
+                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "reactor-core-3.4", "reactive-streams"))
+                            .build()
+                            .apply(updateCursor(cd), first == 0 ?
+                                            cd.getBody().getCoordinates().firstStatement() :
+                                            cd.getBody().getStatements().get(0).getCoordinates().after(),
+                                    name, fields.get(name).withId(Tree.randomId()).withPrefix(Space.EMPTY));
+                    J.VariableDeclarations field = (J.VariableDeclarations) cd.getBody().getStatements().get(first);
+                    cd = JavaTemplate.builder("static {\n    Runtime.getRuntime().addShutdownHook(new Thread(#{}::dispose));\n}")
+                            .contextSensitive()
+                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "reactor-core-3.4", "reactive-streams"))
+                            .build()
+                            .apply(updateCursor(cd), field.getCoordinates().after(), name);
+                }
+                maybeAddImport(SCHEDULER);
+
+                Map<String, J.Identifier> references = new HashMap<>();
+                for (Statement statement : cd.getBody().getStatements()) {
+                    if (statement instanceof J.VariableDeclarations) {
+                        J.VariableDeclarations.NamedVariable variable = ((J.VariableDeclarations) statement).getVariables().get(0);
+                        if (fields.containsKey(variable.getSimpleName())) {
+                            references.put(variable.getSimpleName(), variable.getName());
+                        }
+                    }
+                }
+                return (J.ClassDeclaration) new JavaVisitor<ExecutionContext>() {
+                    @Override
+                    public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                        String name = hoisted.get(method.getId());
+                        if (name != null) {
+                            return references.get(name).withId(Tree.randomId()).withPrefix(method.getPrefix());
+                        }
+                        return super.visitMethodInvocation(method, ctx);
+                    }
+                }.visitNonNull(cd, ctx, getCursor().getParentOrThrow());
+            }
+        });
+    }
+
+    /**
+     * The arguments may only consist of literals, static fields and static factories such as {@code Executors.newFixedThreadPool(..)},
+     * so that the call can be evaluated in a static initializer.
+     */
+    private static boolean hasStaticArguments(J.MethodInvocation factory) {
+        AtomicBoolean isStatic = new AtomicBoolean(true);
+        for (Expression argument : factory.getArguments()) {
+            new JavaIsoVisitor<AtomicBoolean>() {
+                @Override
+                public J.Identifier visitIdentifier(J.Identifier ident, AtomicBoolean isStatic) {
+                    JavaType.Variable fieldType = ident.getFieldType();
+                    if ("this".equals(ident.getSimpleName()) || "super".equals(ident.getSimpleName()) ||
+                        fieldType != null && !fieldType.hasFlags(Flag.Static)) {
+                        isStatic.set(false);
+                    }
+                    return ident;
+                }
+
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, AtomicBoolean isStatic) {
+                    if (STATIC_ARGUMENTS.stream().noneMatch(m -> m.matches(method))) {
+                        isStatic.set(false);
+                        return method;
+                    }
+                    return super.visitMethodInvocation(method, isStatic);
+                }
+
+                @Override
+                public J.NewClass visitNewClass(J.NewClass newClass, AtomicBoolean isStatic) {
+                    isStatic.set(false);
+                    return newClass;
+                }
+
+                @Override
+                public J.Lambda visitLambda(J.Lambda lambda, AtomicBoolean isStatic) {
+                    isStatic.set(false);
+                    return lambda;
+                }
+
+                @Override
+                public J.MemberReference visitMemberReference(J.MemberReference memberRef, AtomicBoolean isStatic) {
+                    isStatic.set(false);
+                    return memberRef;
+                }
+            }.visit(argument, isStatic);
+        }
+        return isStatic.get();
+    }
+
+    /**
+     * A per-call {@code newSingle(..)} or {@code newParallel(.., 1)} gives every call its own thread, which a shared
+     * instance would turn into a single thread for all callers.
+     */
+    private static boolean isSingleThreaded(J.MethodInvocation factory) {
+        if (NEW_SINGLE.matches(factory)) {
+            return true;
+        }
+        for (Expression argument : factory.getArguments()) {
+            if (NEW_PARALLEL.matches(factory) && argument instanceof J.Literal &&
+                Integer.valueOf(1).equals(((J.Literal) argument).getValue()) ||
+                SINGLE_THREAD_EXECUTOR.matches(argument)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Schedulers passed straight to an operator such as {@code subscribeOn(..)} are not visible to the caller,
+     * so nothing else can dispose the shared instance.
+     */
+    private static boolean isOperatorArgument(J.MethodInvocation factory, Cursor cursor) {
+        Object parent = cursor.getParentTreeCursor().getValue();
+        if (!(parent instanceof J.MethodInvocation) || !((J.MethodInvocation) parent).getArguments().contains(factory)) {
+            return false;
+        }
+        JavaType.Method operator = ((J.MethodInvocation) parent).getMethodType();
+        return operator != null && (TypeUtils.isOfClassType(operator.getDeclaringType(), "reactor.core.publisher.Flux") ||
+                                    TypeUtils.isOfClassType(operator.getDeclaringType(), "reactor.core.publisher.Mono") ||
+                                    TypeUtils.isOfClassType(operator.getDeclaringType(), "reactor.core.publisher.ParallelFlux"));
+    }
+
+    /**
+     * Derives a constant name from the first string argument, which is the thread name prefix of most factories.
+     */
+    private static String fieldName(J.MethodInvocation factory) {
+        for (Expression argument : factory.getArguments()) {
+            if (argument instanceof J.Literal && ((J.Literal) argument).getValue() instanceof String) {
+                String name = ((String) Objects.requireNonNull(((J.Literal) argument).getValue()))
+                        .replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+                        .replaceAll("[^A-Za-z0-9]+", "_")
+                        .replaceAll("^_+|_+$", "")
+                        .toUpperCase();
+                if (!name.isEmpty() && !Character.isDigit(name.charAt(0))) {
+                    return name.endsWith("SCHEDULER") ? name : name + "_SCHEDULER";
+                }
+            }
+        }
+        return "SCHEDULER";
+    }
+
+    private static String uniqueName(String name, Set<String> taken) {
+        String unique = name;
+        for (int i = 2; taken.contains(unique); i++) {
+            unique = name + "_" + i;
+        }
+        return unique;
+    }
+}
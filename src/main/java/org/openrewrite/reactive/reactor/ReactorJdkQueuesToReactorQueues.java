@@ -0,0 +1,155 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ReactorJdkQueuesToReactorQueues extends Recipe {
+
+    private static final MethodMatcher UNICAST_PROCESSOR_CREATE = new MethodMatcher("reactor.core.publisher.UnicastProcessor create(java.util.Queue, ..)");
+
+    private static final List<String> UNBOUNDED_QUEUES = Arrays.asList(
+            "java.util.concurrent.ConcurrentLinkedQueue",
+            "java.util.concurrent.LinkedBlockingQueue");
+    private static final List<String> BOUNDED_QUEUES = Arrays.asList(
+            "java.util.concurrent.ArrayBlockingQueue",
+            "java.util.concurrent.LinkedBlockingQueue");
+
+    /**
+     * {@code Queues.get(n)} rounds the capacity up to a power of two, and returns an unbounded queue above this size.
+     */
+    private static final int MIN_CAPACITY = 8;
+    private static final int MAX_CAPACITY = 10_000_000;
+
+    @Override
+    public String getDisplayName() {
+        return "Replace JDK queues of unicast sinks with Reactor `Queues`";
+    }
+
+    @Override
+    public String getDescription() {
+        return "The blocking and concurrent queues of the JDK are slower than the single producer queues from " +
+               "`reactor.util.concurrent.Queues`, which suffice for the serialized signals of a unicast sink or processor. " +
+               "Replaces `new ConcurrentLinkedQueue<>()` and `new LinkedBlockingQueue<>()` passed to " +
+               "`Sinks.many().unicast().onBackpressureBuffer(..)` or `UnicastProcessor.create(..)` with `Queues.<T>unbounded().get()`, " +
+               "and `new ArrayBlockingQueue<>(n)` and `new LinkedBlockingQueue<>(n)` with `Queues.<T>get(n).get()` when `n` is a " +
+               "power of two literal, for which the capacity stays the same.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(Preconditions.or(
+                new UsesMethod<>(UNICAST_PROCESSOR_CREATE),
+                new UsesType<>("reactor.core.publisher.Sinks", false)
+        ), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+                J.NewClass nc = (J.NewClass) super.visitNewClass(newClass, ctx);
+                Object parent = getCursor().getParentTreeCursor().getValue();
+                if (!(parent instanceof J.MethodInvocation) || !isQueueArgument((J.MethodInvocation) parent, newClass)) {
+                    return nc;
+                }
+                String elementType = elementType(nc, getCursor());
+                if (elementType == null) {
+                    return nc;
+                }
+                String code;
+                List<Expression> arguments = nc.getArguments();
+                if (arguments.size() == 1 && arguments.get(0) instanceof J.Empty && isOneOf(nc, UNBOUNDED_QUEUES)) {
+                    code = "Queues.<" + elementType + ">unbounded().get()";
+                } else if (arguments.size() == 1 && isOneOf(nc, BOUNDED_QUEUES) && isExactCapacity(arguments.get(0))) {
+                    code = "Queues.<" + elementType + ">get(" + ((J.Literal) arguments.get(0)).getValueSource() + ").get()";
+                } else {
+                    return nc;
+                }
+                maybeAddImport("reactor.util.concurrent.Queues");
+                maybeRemoveImport(TypeUtils.asFullyQualified(nc.getType()));
+                return JavaTemplate.builder(code)
+                        .imports("reactor.util.concurrent.Queues")
+                        .contextSensitive()
+                        .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "reactor-core-3.4", "reactive-streams"))
+                        .build()
+                        .apply(getCursor(), nc.getCoordinates().replace());
+            }
+        });
+    }
+
+    private static boolean isQueueArgument(J.MethodInvocation method, J.NewClass newClass) {
+        if (method.getArguments().isEmpty() || method.getArguments().get(0) != newClass) {
+            return false;
+        }
+        if (UNICAST_PROCESSOR_CREATE.matches(method)) {
+            return true;
+        }
+        // The spec types are nested in `Sinks`, so compare their declaring types with `TypeUtils`
+        JavaType.Method methodType = method.getMethodType();
+        return methodType != null && "onBackpressureBuffer".equals(methodType.getName()) &&
+               TypeUtils.isOfClassType(methodType.getDeclaringType(), "reactor.core.publisher.Sinks.UnicastSpec");
+    }
+
+    private static boolean isOneOf(J.NewClass newClass, List<String> types) {
+        for (String type : types) {
+            if (TypeUtils.isOfClassType(newClass.getType(), type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isExactCapacity(Expression capacity) {
+        if (!(capacity instanceof J.Literal) || !(((J.Literal) capacity).getValue() instanceof Integer)) {
+            return false;
+        }
+        int n = (Integer) ((J.Literal) capacity).getValue();
+        return n >= MIN_CAPACITY && n <= MAX_CAPACITY && Integer.bitCount(n) == 1;
+    }
+
+    /**
+     * @return the source code of the element type, written out in the constructor call or inferred for a diamond,
+     * or {@code null} if it cannot be referred to by a simple name.
+     */
+    private static @Nullable String elementType(J.NewClass newClass, Cursor cursor) {
+        if (newClass.getClazz() instanceof J.ParameterizedType) {
+            List<Expression> typeParameters = ((J.ParameterizedType) newClass.getClazz()).getTypeParameters();
+            if (typeParameters != null && typeParameters.size() == 1 && !(typeParameters.get(0) instanceof J.Empty)) {
+                return typeParameters.get(0).printTrimmed(cursor);
+            }
+        }
+        JavaType.Parameterized type = TypeUtils.asParameterized(newClass.getType());
+        if (type == null || type.getTypeParameters().size() != 1) {
+            return null;
+        }
+        JavaType element = type.getTypeParameters().get(0);
+        return element instanceof JavaType.Class && "java.lang".equals(((JavaType.Class) element).getPackageName()) ?
+                ((JavaType.Class) element).getClassName() :
+                null;
+    }
+}
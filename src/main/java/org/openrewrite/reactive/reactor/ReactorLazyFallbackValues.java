@@ -0,0 +1,201 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.openrewrite.*;
+import org.openrewrite.java.*;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ReactorLazyFallbackValues extends Recipe {
+
+    private static final Set<J.Unary.Type> MODIFYING = EnumSet.of(
+            J.Unary.Type.PreIncrement, J.Unary.Type.PreDecrement, J.Unary.Type.PostIncrement, J.Unary.Type.PostDecrement);
+
+    private static final MethodMatcher MONO_JUST = new MethodMatcher("reactor.core.publisher.Mono just(..)");
+    private static final MethodMatcher SWITCH_IF_EMPTY = new MethodMatcher("reactor.core.publisher.* switchIfEmpty(..)");
+    private static final MethodMatcher MONO_DEFAULT_IF_EMPTY = new MethodMatcher("reactor.core.publisher.Mono defaultIfEmpty(..)");
+    private static final MethodMatcher FLUX_DEFAULT_IF_EMPTY = new MethodMatcher("reactor.core.publisher.Flux defaultIfEmpty(..)");
+    private static final MethodMatcher MONO_ON_ERROR_RETURN = new MethodMatcher("reactor.core.publisher.Mono onErrorReturn(..)");
+    private static final MethodMatcher FLUX_ON_ERROR_RETURN = new MethodMatcher("reactor.core.publisher.Flux onErrorReturn(..)");
+
+    @Override
+    public String getDisplayName() {
+        return "Defer eager fallback values";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Arguments to `Mono.just(..)`, `defaultIfEmpty(..)` and `onErrorReturn(..)` are evaluated at assembly time, " +
+               "even when the value is never emitted. Wraps method call arguments in `Mono.fromSupplier(..)`, so they are " +
+               "only evaluated on subscription, when the fallback is needed. Constants, variables and accessors are left unchanged, " +
+               "as are `Mono.just(..)` calls in field initializers and in lambdas, other than the argument of `switchIfEmpty(..)`. " +
+               "Note that a `null` supplied value completes the `Mono` empty instead of failing assembly, and that the " +
+               "wrapped call runs again on every subscription, `retry()` and `repeat()`, instead of once at assembly.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(Preconditions.or(
+                new UsesType<>("reactor.core.publisher.Flux", false),
+                new UsesType<>("reactor.core.publisher.Mono", false)
+        ), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                if (MONO_JUST.matches(mi) && mi.getArguments().size() == 1) {
+                    Expression value = mi.getArguments().get(0);
+                    if (isEager(value) && canCapture(value, getCursor()) && isAssembledOnce(getCursor())) {
+                        return template("Mono.fromSupplier(() -> #{any()})", ctx)
+                                .apply(getCursor(), mi.getCoordinates().replace(), value);
+                    }
+                    return mi;
+                }
+                if (mi.getSelect() == null || mi.getArguments().isEmpty()) {
+                    return mi;
+                }
+                boolean flux = FLUX_DEFAULT_IF_EMPTY.matches(mi) || FLUX_ON_ERROR_RETURN.matches(mi);
+                String selectType = flux ? "reactor.core.publisher.Flux" : "reactor.core.publisher.Mono";
+                Expression value = mi.getArguments().get(mi.getArguments().size() - 1);
+                if (!isEager(value) || !canCapture(value, getCursor())) {
+                    return mi;
+                }
+                J.MethodInvocation replaced;
+                if (MONO_DEFAULT_IF_EMPTY.matches(mi) || FLUX_DEFAULT_IF_EMPTY.matches(mi)) {
+                    replaced = template("#{any(" + selectType + ")}.switchIfEmpty(Mono.fromSupplier(() -> #{any()}))", ctx)
+                            .apply(getCursor(), mi.getCoordinates().replace(), mi.getSelect(), value);
+                } else if (MONO_ON_ERROR_RETURN.matches(mi) || FLUX_ON_ERROR_RETURN.matches(mi)) {
+                    String error = VariableNameUtils.generateVariableName("e", getCursor(), VariableNameUtils.GenerationStrategy.INCREMENT_NUMBER);
+                    if (mi.getArguments().size() == 1) {
+                        replaced = template("#{any(" + selectType + ")}.onErrorResume(#{} -> Mono.fromSupplier(() -> #{any()}))", ctx)
+                                .apply(getCursor(), mi.getCoordinates().replace(), mi.getSelect(), error, value);
+                    } else {
+                        Expression filter = mi.getArguments().get(0);
+                        String filterType = TypeUtils.isOfClassType(filter.getType(), "java.lang.Class") ?
+                                "java.lang.Class" : "java.util.function.Predicate";
+                        replaced = template("#{any(" + selectType + ")}.onErrorResume(#{any(" + filterType + ")}, #{} -> Mono.fromSupplier(() -> #{any()}))", ctx)
+                                .apply(getCursor(), mi.getCoordinates().replace(), mi.getSelect(), filter, error, value);
+                    }
+                } else {
+                    return mi;
+                }
+                maybeAddImport("reactor.core.publisher.Mono");
+                return replaced.getPadding().withSelect(replaced.getPadding().getSelect().withAfter(mi.getPadding().getSelect().getAfter()));
+            }
+        });
+    }
+
+    private static JavaTemplate template(String code, ExecutionContext ctx) {
+        return JavaTemplate.builder(code)
+                .imports("reactor.core.publisher.Mono")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "reactor-core-3.4", "reactive-streams"))
+                .build();
+    }
+
+    /**
+     * Method calls and object creation are worth deferring, apart from zero argument {@code get} and {@code is} accessors.
+     */
+    private static boolean isEager(Expression value) {
+        if (value instanceof J.NewClass) {
+            return ((J.NewClass) value).getBody() == null;
+        }
+        if (!(value instanceof J.MethodInvocation)) {
+            return false;
+        }
+        J.MethodInvocation call = (J.MethodInvocation) value;
+        boolean accessor = call.getArguments().stream().allMatch(J.Empty.class::isInstance) &&
+                           call.getSimpleName().matches("(get|is)[A-Z].*") &&
+                           (call.getSelect() == null || call.getSelect() instanceof J.Identifier);
+        return !accessor;
+    }
+
+    /**
+     * Only values assembled directly in a method body, or as the argument of {@code switchIfEmpty}, are deferred.
+     * A field initializer usually computes its value once on purpose, to share it, and the lambdas of other operators
+     * already run once per element, so deferring the value would not save any work there.
+     */
+    private static boolean isAssembledOnce(Cursor cursor) {
+        Cursor parent = cursor.getParentTreeCursor();
+        if (parent.getValue() instanceof J.MethodInvocation && SWITCH_IF_EMPTY.matches((J.MethodInvocation) parent.getValue())) {
+            return true;
+        }
+        Object scope = cursor.dropParentUntil(v -> v instanceof J.Lambda || v instanceof J.MethodDeclaration ||
+                                                    v instanceof J.ClassDeclaration || v == Cursor.ROOT_VALUE).getValue();
+        return scope instanceof J.MethodDeclaration;
+    }
+
+    /**
+     * A lambda can only capture local variables that are effectively final, which is approximated by requiring that
+     * none of the referenced local variables is assigned anywhere in the enclosing method.
+     */
+    static boolean canCapture(Expression value, Cursor cursor) {
+        Set<String> locals = new HashSet<>();
+        new JavaIsoVisitor<Set<String>>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier ident, Set<String> locals) {
+                JavaType.Variable variable = ident.getFieldType();
+                if (variable != null && variable.getOwner() instanceof JavaType.Method) {
+                    locals.add(variable.getName());
+                }
+                return ident;
+            }
+        }.visit(value, locals);
+        if (locals.isEmpty()) {
+            return true;
+        }
+        J.MethodDeclaration method = cursor.firstEnclosing(J.MethodDeclaration.class);
+        if (method == null) {
+            return false;
+        }
+        AtomicBoolean reassigned = new AtomicBoolean();
+        new JavaIsoVisitor<AtomicBoolean>() {
+            @Override
+            public J.Assignment visitAssignment(J.Assignment assignment, AtomicBoolean reassigned) {
+                check(assignment.getVariable(), reassigned);
+                return super.visitAssignment(assignment, reassigned);
+            }
+
+            @Override
+            public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, AtomicBoolean reassigned) {
+                check(assignOp.getVariable(), reassigned);
+                return super.visitAssignmentOperation(assignOp, reassigned);
+            }
+
+            @Override
+            public J.Unary visitUnary(J.Unary unary, AtomicBoolean reassigned) {
+                if (MODIFYING.contains(unary.getOperator())) {
+                    check(unary.getExpression(), reassigned);
+                }
+                return super.visitUnary(unary, reassigned);
+            }
+
+            private void check(Expression variable, AtomicBoolean reassigned) {
+                if (variable instanceof J.Identifier && locals.contains(((J.Identifier) variable).getSimpleName())) {
+                    reassigned.set(true);
+                }
+            }
+        }.visit(method, reassigned);
+        return !reassigned.get();
+    }
+}
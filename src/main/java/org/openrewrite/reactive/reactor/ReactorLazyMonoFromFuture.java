@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.openrewrite.*;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+
+public class ReactorLazyMonoFromFuture extends Recipe {
+
+    private static final MethodMatcher FROM_FUTURE = new MethodMatcher("reactor.core.publisher.Mono fromFuture(java.util.concurrent.CompletableFuture, ..)");
+    private static final MethodMatcher SUPPLY_ASYNC = new MethodMatcher("java.util.concurrent.CompletableFuture supplyAsync(java.util.function.Supplier)");
+
+    @Override
+    public String getDisplayName() {
+        return "Defer the futures of `Mono.fromFuture`";
+    }
+
+    @Override
+    public String getDescription() {
+        return "The future passed to `Mono.fromFuture(..)` is created at assembly time, so its work starts even when the `Mono` " +
+               "is never subscribed to, or is cancelled early. Replaces `Mono.fromFuture(CompletableFuture.supplyAsync(..))`, " +
+               "which also hops from the common `ForkJoinPool` back to the subscriber, with " +
+               "`Mono.fromCallable(..).subscribeOn(Schedulers.boundedElastic())`, and wraps other method calls producing the " +
+               "future in a supplier, for the lazy `Mono.fromFuture(Supplier)` overload. Calls in field initializers, which " +
+               "are assembled once but may be subscribed to many times, are left unchanged.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(new UsesMethod<>(FROM_FUTURE), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                if (!FROM_FUTURE.matches(mi) || !isOutsideFieldInitializer(getCursor())) {
+                    return mi;
+                }
+                Expression future = mi.getArguments().get(0);
+                if (SUPPLY_ASYNC.matches(future) && mi.getArguments().size() == 1) {
+                    Expression supplier = ((J.MethodInvocation) future).getArguments().get(0);
+                    boolean callable = supplier instanceof J.Lambda || supplier instanceof J.MemberReference;
+                    maybeAddImport("reactor.core.publisher.Mono");
+                    maybeAddImport("reactor.core.scheduler.Schedulers");
+                    maybeRemoveImport("java.util.concurrent.CompletableFuture");
+                    return template(callable ?
+                            "Mono.fromCallable(#{any(java.util.concurrent.Callable)}).subscribeOn(Schedulers.boundedElastic())" :
+                            "Mono.fromCallable(#{any(java.util.function.Supplier)}::get).subscribeOn(Schedulers.boundedElastic())", "reactor-core-3.4", ctx)
+                            .apply(getCursor(), mi.getCoordinates().replace(), supplier);
+                }
+                if (!isEager(future) || !ReactorLazyFallbackValues.canCapture(future, getCursor())) {
+                    return mi;
+                }
+                maybeAddImport("reactor.core.publisher.Mono");
+                if (mi.getArguments().size() == 1) {
+                    return template("Mono.fromFuture(() -> #{any(java.util.concurrent.CompletableFuture)})", "reactor-core-3.4", ctx)
+                            .apply(getCursor(), mi.getCoordinates().replace(), future);
+                }
+                // The overloads taking a flag to suppress cancellation were added in Reactor 3.5
+                return template("Mono.fromFuture(() -> #{any(java.util.concurrent.CompletableFuture)}, #{any(boolean)})", "reactor-core-3.5", ctx)
+                        .apply(getCursor(), mi.getCoordinates().replace(), future, mi.getArguments().get(1));
+            }
+        });
+    }
+
+    private static JavaTemplate template(String code, String reactorCore, ExecutionContext ctx) {
+        return JavaTemplate.builder(code)
+                .imports("reactor.core.publisher.Mono", "reactor.core.scheduler.Schedulers")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, reactorCore, "reactive-streams"))
+                .build();
+    }
+
+    /**
+     * A variable refers to a future that already exists, so only method calls and object creation are deferred.
+     */
+    private static boolean isEager(Expression future) {
+        return future instanceof J.MethodInvocation ||
+               future instanceof J.NewClass && ((J.NewClass) future).getBody() == null;
+    }
+
+    /**
+     * A deferred future is created again for every subscriber, which would repeat the work of a {@code Mono} that
+     * is assembled once in a field initializer.
+     */
+    private static boolean isOutsideFieldInitializer(Cursor cursor) {
+        Object scope = cursor.dropParentUntil(v -> v instanceof J.Lambda || v instanceof J.MethodDeclaration ||
+                                                    v instanceof J.ClassDeclaration || v == Cursor.ROOT_VALUE).getValue();
+        return !(scope instanceof J.ClassDeclaration);
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.*;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.*;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class ReactorMdcHooksToAutomaticContextPropagation extends Recipe {
+
+    private static final MethodMatcher ON_EACH_OPERATOR = new MethodMatcher("reactor.core.publisher.Hooks onEachOperator(String, java.util.function.Function)");
+    private static final MethodMatcher RESET_ON_EACH_OPERATOR = new MethodMatcher("reactor.core.publisher.Hooks resetOnEachOperator(String)");
+    private static final MethodMatcher LIFT = new MethodMatcher("reactor.core.publisher.Operators lift(..)");
+    private static final MethodMatcher MDC_PUT = new MethodMatcher("org.slf4j.MDC put(String, String)");
+
+    private static final String CONTEXT_REGISTRY = "io.micrometer.context.ContextRegistry";
+    private static final String MDC = "org.slf4j.MDC";
+
+    /**
+     * Neither {@code context-propagation} nor SLF4J are on the template classpath, so declare the parts the template uses.
+     */
+    private static final String[] STUBS = {
+            "package io.micrometer.context;\n" +
+            "public class ContextRegistry {\n" +
+            "    public static ContextRegistry getInstance() { return null; }\n" +
+            "    public <V> ContextRegistry registerThreadLocalAccessor(String key, java.util.function.Supplier<V> getSupplier, " +
+            "java.util.function.Consumer<V> setConsumer, Runnable resetTask) { return this; }\n" +
+            "}",
+            "package org.slf4j;\n" +
+            "public class MDC {\n" +
+            "    public static void put(String key, String val) {}\n" +
+            "    public static String get(String key) { return null; }\n" +
+            "    public static void remove(String key) {}\n" +
+            "}"
+    };
+
+    private static final String MDC_KEYS = "MDC_KEYS";
+    private static final String HOOK_KEYS = "HOOK_KEYS";
+    private static final String MIGRATED_HOOKS = "MIGRATED_HOOKS";
+
+    @Option(displayName = "MDC keys",
+            description = "The MDC keys to register a `ThreadLocalAccessor` for. " +
+                          "Defaults to the string literal keys passed to `MDC.put(..)` in the source file that installs the hook.",
+            example = "traceId",
+            required = false)
+    @Nullable
+    List<String> mdcKeys;
+
+    @Override
+    public String getDisplayName() {
+        return "Replace MDC lifting hooks with automatic context propagation";
+    }
+
+    @Override
+    public String getDescription() {
+        return "A `Hooks.onEachOperator(..)` hook that lifts every operator to copy MDC values from the `Context` wraps every " +
+               "subscriber of every pipeline. Reactor 3.5.3 can restore thread locals itself, only when a thread hop occurs. " +
+               "Replaces such hooks with `Hooks.enableAutomaticContextPropagation()` and a `ThreadLocalAccessor` registration per " +
+               "MDC key, and removes the matching `Hooks.resetOnEachOperator(..)` calls. Only hooks whose lift function refers to " +
+               "`org.slf4j.MDC`, directly or through a subscriber class declared in the same source file, are replaced. " +
+               "Hooks for which no MDC key is known are left unchanged.";
+    }
+
+    /**
+     * The {@code ContextRegistry} registrations only exist once a hook has been replaced, so the next cycle lets
+     * {@code UpgradeReactor_3_5} see them and add {@code context-propagation} to the project.
+     */
+    @Override
+    public boolean causesAnotherCycle() {
+        return true;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(new UsesMethod<>(ON_EACH_OPERATOR), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                Set<String> keys = new LinkedHashSet<>();
+                Set<String> hookKeys = new HashSet<>();
+                scan(cu, keys, hookKeys);
+                if (keys.isEmpty() || hookKeys.isEmpty()) {
+                    return cu;
+                }
+                getCursor().putMessage(MDC_KEYS, keys);
+                getCursor().putMessage(HOOK_KEYS, hookKeys);
+                return super.visitCompilationUnit(cu, ctx);
+            }
+
+            @Override
+            public J visitBlock(J.Block block, ExecutionContext ctx) {
+                J.Block b = (J.Block) super.visitBlock(block, ctx);
+                Set<UUID> migrated = getCursor().pollMessage(MIGRATED_HOOKS);
+                if (migrated == null) {
+                    return b;
+                }
+                Set<String> keys = getCursor().getNearestMessage(MDC_KEYS);
+                for (Statement statement : b.getStatements()) {
+                    if (!migrated.contains(statement.getId())) {
+                        continue;
+                    }
+                    List<String> reversed = new ArrayList<>(Objects.requireNonNull(keys));
+                    Collections.reverse(reversed);
+                    for (String key : reversed) {
+                        String value = VariableNameUtils.generateVariableName("value", getCursor(), VariableNameUtils.GenerationStrategy.INCREMENT_NUMBER);
+                        b = JavaTemplate.builder("ContextRegistry.getInstance().registerThreadLocalAccessor(" + key + ", " +
+                                                 "() -> MDC.get(" + key + "), " + value + " -> MDC.put(" + key + ", " + value + "), " +
+                                                 "() -> MDC.remove(" + key + "))")
+                                .imports(CONTEXT_REGISTRY, MDC)
+                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "reactor-core-3.5", "reactive-streams")
+                                        .dependsOn(STUBS))
+                                .build()
+                                .apply(updateCursor(b), statement.getCoordinates().after());
+                    }
+                }
+                maybeAddImport(CONTEXT_REGISTRY);
+                maybeAddImport(MDC);
+                return b;
+            }
+
+            @Override
+            public @Nullable J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                Set<String> hookKeys = getCursor().getNearestMessage(HOOK_KEYS);
+                if (hookKeys == null || !(getCursor().getParentTreeCursor().getValue() instanceof J.Block)) {
+                    return mi;
+                }
+                if (RESET_ON_EACH_OPERATOR.matches(mi) && hookKeys.contains(mi.getArguments().get(0).printTrimmed(getCursor()))) {
+                    // The hook is no longer installed, so there is nothing to reset
+                    return null;
+                }
+                if (isMdcLiftingHook(mi) && hookKeys.contains(mi.getArguments().get(0).printTrimmed(getCursor()))) {
+                    J.MethodInvocation enable = JavaTemplate.builder("Hooks.enableAutomaticContextPropagation()")
+                            .imports("reactor.core.publisher.Hooks")
+                            // Added in 3.5.3
+                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "reactor-core-3.5", "reactive-streams"))
+                            .build()
+                            .apply(getCursor(), mi.getCoordinates().replace());
+                    getCursor().getParentTreeCursor().<Set<UUID>>computeMessageIfAbsent(MIGRATED_HOOKS, k -> new HashSet<>()).add(enable.getId());
+                    maybeRemoveImport("reactor.core.publisher.Operators");
+                    return enable;
+                }
+                return mi;
+            }
+        });
+    }
+
+    /**
+     * Collects the MDC keys to register, and the keys of the hooks that copy MDC values.
+     */
+    private void scan(JavaSourceFile sourceFile, Set<String> keys, Set<String> hookKeys) {
+        if (mdcKeys != null) {
+            for (String key : mdcKeys) {
+                keys.add('"' + key.trim().replace("\\", "\\\\").replace("\"", "\\\"") + '"');
+            }
+        }
+        new JavaIsoVisitor<Integer>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+                if (mdcKeys == null && MDC_PUT.matches(method) && method.getArguments().get(0) instanceof J.Literal) {
+                    keys.add(((J.Literal) method.getArguments().get(0)).getValueSource());
+                } else if (isMdcLiftingHook(method) && liftsMdc(method.getArguments().get(1), sourceFile)) {
+                    hookKeys.add(method.getArguments().get(0).printTrimmed(getCursor()));
+                }
+                return super.visitMethodInvocation(method, p);
+            }
+        }.visit(sourceFile, 0);
+    }
+
+    private static boolean isMdcLiftingHook(J.MethodInvocation method) {
+        Expression function = method.getArguments().size() == 2 ? method.getArguments().get(1) : null;
+        return ON_EACH_OPERATOR.matches(method) && function instanceof J.MethodInvocation && LIFT.matches((J.MethodInvocation) function);
+    }
+
+    /**
+     * @return whether the lift function refers to {@code org.slf4j.MDC}, either itself or in the body of a
+     * subscriber class that it instantiates and that is declared in the same source file.
+     */
+    private static boolean liftsMdc(Expression lift, JavaSourceFile sourceFile) {
+        Set<String> subscribers = new HashSet<>();
+        if (referencesMdc(lift, subscribers)) {
+            return true;
+        }
+        AtomicBoolean lifts = new AtomicBoolean();
+        new JavaIsoVisitor<AtomicBoolean>() {
+            @Override
+            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, AtomicBoolean lifts) {
+                if (classDecl.getType() != null && subscribers.contains(classDecl.getType().getFullyQualifiedName()) &&
+                    referencesMdc(classDecl.getBody(), new HashSet<>())) {
+                    lifts.set(true);
+                }
+                return super.visitClassDeclaration(classDecl, lifts);
+            }
+        }.visit(sourceFile, lifts);
+        return lifts.get();
+    }
+
+    private static boolean referencesMdc(J tree, Set<String> instantiated) {
+        AtomicBoolean references = new AtomicBoolean();
+        new JavaIsoVisitor<AtomicBoolean>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, AtomicBoolean references) {
+                if (method.getMethodType() != null && TypeUtils.isOfClassType(method.getMethodType().getDeclaringType(), MDC)) {
+                    references.set(true);
+                }
+                return super.visitMethodInvocation(method, references);
+            }
+
+            @Override
+            public J.MemberReference visitMemberReference(J.MemberReference memberRef, AtomicBoolean references) {
+                if (memberRef.getMethodType() != null && TypeUtils.isOfClassType(memberRef.getMethodType().getDeclaringType(), MDC)) {
+                    references.set(true);
+                }
+                return super.visitMemberReference(memberRef, references);
+            }
+
+            @Override
+            public J.NewClass visitNewClass(J.NewClass newClass, AtomicBoolean references) {
+                JavaType.FullyQualified type = TypeUtils.asFullyQualified(newClass.getType());
+                if (type != null) {
+                    instantiated.add(type.getFullyQualifiedName());
+                }
+                return super.visitNewClass(newClass, references);
+            }
+        }.visit(tree, references);
+        return references.get();
+    }
+}
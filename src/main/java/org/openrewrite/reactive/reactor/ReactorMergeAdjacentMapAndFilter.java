@@ -0,0 +1,330 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.singletonList;
+
+public class ReactorMergeAdjacentMapAndFilter extends Recipe {
+
+    private static final List<MethodMatcher> MAPS = Arrays.asList(
+            new MethodMatcher("reactor.core.publisher.Flux map(java.util.function.Function)"),
+            new MethodMatcher("reactor.core.publisher.Mono map(java.util.function.Function)"));
+    private static final List<MethodMatcher> FILTERS = Arrays.asList(
+            new MethodMatcher("reactor.core.publisher.Flux filter(java.util.function.Predicate)"),
+            new MethodMatcher("reactor.core.publisher.Mono filter(java.util.function.Predicate)"));
+
+    private static final Set<J.Unary.Type> MODIFYING = EnumSet.of(
+            J.Unary.Type.PreIncrement, J.Unary.Type.PreDecrement, J.Unary.Type.PostIncrement, J.Unary.Type.PostDecrement);
+
+    private static final List<MethodMatcher> PURE_METHODS = Arrays.asList(
+            new MethodMatcher("java.lang.String *(..)"),
+            new MethodMatcher("java.lang.CharSequence *(..)", true),
+            new MethodMatcher("java.lang.Number *(..)", true),
+            new MethodMatcher("java.lang.Boolean *(..)"),
+            new MethodMatcher("java.lang.Character *(..)"),
+            new MethodMatcher("java.lang.Math *(..)"),
+            new MethodMatcher("java.util.Objects *(..)"),
+            new MethodMatcher("java.lang.Object equals(java.lang.Object)", true),
+            new MethodMatcher("java.lang.Object hashCode()", true),
+            new MethodMatcher("java.lang.Object toString()", true),
+            new MethodMatcher("java.util.Collection size()", true),
+            new MethodMatcher("java.util.Collection isEmpty()", true),
+            new MethodMatcher("java.util.Collection contains(java.lang.Object)", true),
+            new MethodMatcher("java.util.Map containsKey(java.lang.Object)", true),
+            new MethodMatcher("java.util.Map get(java.lang.Object)", true));
+
+    @Override
+    public String getDisplayName() {
+        return "Merge adjacent `map` and `filter` operators";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Each operator in a chain adds to assembly and to the work done per signal. " +
+               "Merge consecutive `map` lambdas into a single lambda, and consecutive `filter` lambdas into a single `&&` predicate, " +
+               "when the lambdas are single expressions without detectable side effects. " +
+               "Method calls are only considered free of side effects for `String`, boxed primitives, `Math`, `Objects`, " +
+               "read-only collection methods and the accessors of record components.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(Preconditions.or(
+                new UsesType<>("reactor.core.publisher.Flux", false),
+                new UsesType<>("reactor.core.publisher.Mono", false)
+        ), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                if (!(mi.getSelect() instanceof J.MethodInvocation)) {
+                    return mi;
+                }
+                J.MethodInvocation previous = (J.MethodInvocation) mi.getSelect();
+                boolean map = sameOperator(MAPS, previous, mi);
+                if (!map && !sameOperator(FILTERS, previous, mi)) {
+                    return mi;
+                }
+                J.Lambda first = simpleLambda(previous.getArguments().get(0));
+                J.Lambda second = simpleLambda(mi.getArguments().get(0));
+                if (first == null || second == null) {
+                    return mi;
+                }
+                J.Lambda merged = map ? composeMaps(first, second) : combineFilters(first, second);
+                if (merged == null) {
+                    return mi;
+                }
+                return previous
+                        .withPrefix(mi.getPrefix())
+                        .withMethodType(mi.getMethodType())
+                        .withName(previous.getName().withType(mi.getMethodType()))
+                        .withArguments(singletonList(merged));
+            }
+        });
+    }
+
+    private static boolean sameOperator(List<MethodMatcher> matchers, J.MethodInvocation previous, J.MethodInvocation mi) {
+        for (MethodMatcher matcher : matchers) {
+            if (matcher.matches(mi)) {
+                return matcher.matches(previous);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the lambda, if it has a single parameter and a single expression as body without detectable side effects.
+     */
+    private static J.@Nullable Lambda simpleLambda(Expression argument) {
+        if (!(argument instanceof J.Lambda)) {
+            return null;
+        }
+        J.Lambda lambda = (J.Lambda) argument;
+        if (lambda.getParameters().getParameters().size() != 1 ||
+            !(lambda.getParameters().getParameters().get(0) instanceof J.VariableDeclarations) ||
+            !(lambda.getBody() instanceof Expression) ||
+            !isSideEffectFree(lambda.getBody())) {
+            return null;
+        }
+        return lambda;
+    }
+
+    /**
+     * Substitutes the body of the first lambda for the single reference to the parameter of the second lambda.
+     * A {@code null} result of the first lambda signals an error from {@code map}, so the substituted expression
+     * must either be primitive or be dereferenced, for the merged lambda to fail in the same way.
+     */
+    private static J.@Nullable Lambda composeMaps(J.Lambda first, J.Lambda second) {
+        String firstParameter = parameterName(first);
+        String secondParameter = parameterName(second);
+        Expression value = (Expression) first.getBody();
+        if (!firstParameter.equals(secondParameter) && references(second.getBody(), firstParameter) > 0 ||
+            references(second.getBody(), secondParameter) != 1) {
+            return null;
+        }
+        AtomicBoolean dereferenced = new AtomicBoolean(value.getType() instanceof JavaType.Primitive);
+        J body = new JavaVisitor<Integer>() {
+            @Override
+            public J visitIdentifier(J.Identifier ident, Integer p) {
+                if (!isReference(ident, getCursor(), secondParameter)) {
+                    return ident;
+                }
+                Object parent = parent(getCursor());
+                if (parent instanceof J.MethodInvocation && ((J.MethodInvocation) parent).getSelect() == ident ||
+                    parent instanceof J.FieldAccess && ((J.FieldAccess) parent).getTarget() == ident) {
+                    dereferenced.set(true);
+                }
+                return needsParentheses(value) ? parenthesize(value, ident.getPrefix()) : value.withPrefix(ident.getPrefix());
+            }
+        }.visitNonNull(second.getBody(), 0);
+        return dereferenced.get() ? first.withBody(body) : null;
+    }
+
+    private static J.@Nullable Lambda combineFilters(J.Lambda first, J.Lambda second) {
+        String firstParameter = parameterName(first);
+        String secondParameter = parameterName(second);
+        if (!firstParameter.equals(secondParameter) && references(second.getBody(), firstParameter) > 0) {
+            return null;
+        }
+        Expression right = (Expression) new JavaVisitor<Integer>() {
+            @Override
+            public J visitIdentifier(J.Identifier ident, Integer p) {
+                if (!isReference(ident, getCursor(), secondParameter)) {
+                    return ident;
+                }
+                JavaType.Variable fieldType = ident.getFieldType();
+                return ident.withSimpleName(firstParameter)
+                        .withFieldType(fieldType == null ? null : fieldType.withName(firstParameter));
+            }
+        }.visitNonNull(second.getBody(), 0);
+        Expression left = (Expression) first.getBody();
+        J.Binary and = new J.Binary(
+                Tree.randomId(),
+                left.getPrefix(),
+                Markers.EMPTY,
+                isLowerPrecedenceThanAnd(left) ? parenthesize(left, Space.EMPTY) : left.withPrefix(Space.EMPTY),
+                JLeftPadded.build(J.Binary.Type.And).withBefore(Space.SINGLE_SPACE),
+                isLowerPrecedenceThanAnd(right) ? parenthesize(right, Space.SINGLE_SPACE) : right.withPrefix(Space.SINGLE_SPACE),
+                JavaType.Primitive.Boolean);
+        return first.withBody(and);
+    }
+
+    private static String parameterName(J.Lambda lambda) {
+        return ((J.VariableDeclarations) lambda.getParameters().getParameters().get(0)).getVariables().get(0).getSimpleName();
+    }
+
+    private static boolean isReference(J.Identifier ident, Cursor cursor, String name) {
+        if (!ident.getSimpleName().equals(name)) {
+            return false;
+        }
+        Object parent = parent(cursor);
+        return !(parent instanceof J.FieldAccess && ((J.FieldAccess) parent).getName() == ident) &&
+               !(parent instanceof J.MethodInvocation && ((J.MethodInvocation) parent).getName() == ident);
+    }
+
+    private static Object parent(Cursor cursor) {
+        return cursor.dropParentUntil(v -> v instanceof J || v == Cursor.ROOT_VALUE).getValue();
+    }
+
+    private static int references(J tree, String name) {
+        AtomicInteger count = new AtomicInteger();
+        new JavaIsoVisitor<AtomicInteger>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier ident, AtomicInteger count) {
+                if (isReference(ident, getCursor(), name)) {
+                    count.incrementAndGet();
+                }
+                return ident;
+            }
+        }.visit(tree, count, new Cursor(null, Cursor.ROOT_VALUE));
+        return count.get();
+    }
+
+    private static boolean isSideEffectFree(J tree) {
+        AtomicBoolean pure = new AtomicBoolean(true);
+        new JavaIsoVisitor<AtomicBoolean>() {
+            @Override
+            public J.Assignment visitAssignment(J.Assignment assignment, AtomicBoolean pure) {
+                pure.set(false);
+                return assignment;
+            }
+
+            @Override
+            public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, AtomicBoolean pure) {
+                pure.set(false);
+                return assignOp;
+            }
+
+            @Override
+            public J.Unary visitUnary(J.Unary unary, AtomicBoolean pure) {
+                if (MODIFYING.contains(unary.getOperator())) {
+                    pure.set(false);
+                }
+                return super.visitUnary(unary, pure);
+            }
+
+            @Override
+            public J.NewClass visitNewClass(J.NewClass newClass, AtomicBoolean pure) {
+                pure.set(false);
+                return newClass;
+            }
+
+            @Override
+            public J.Lambda visitLambda(J.Lambda lambda, AtomicBoolean pure) {
+                pure.set(false);
+                return lambda;
+            }
+
+            @Override
+            public J.MemberReference visitMemberReference(J.MemberReference memberRef, AtomicBoolean pure) {
+                pure.set(false);
+                return memberRef;
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, AtomicBoolean pure) {
+                if (!isPure(method)) {
+                    pure.set(false);
+                    return method;
+                }
+                return super.visitMethodInvocation(method, pure);
+            }
+        }.visit(tree, pure);
+        return pure.get();
+    }
+
+    private static boolean isPure(J.MethodInvocation method) {
+        JavaType.Method methodType = method.getMethodType();
+        if (methodType == null) {
+            return false;
+        }
+        if (isRecordAccessor(methodType)) {
+            return true;
+        }
+        for (MethodMatcher pureMethod : PURE_METHODS) {
+            if (pureMethod.matches(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Getters of other types may lazily compute, cache or count, so only the accessors of record components are
+     * trusted beyond the allow-list.
+     */
+    private static boolean isRecordAccessor(JavaType.Method methodType) {
+        JavaType.FullyQualified declaringType = methodType.getDeclaringType();
+        if (declaringType.getKind() != JavaType.FullyQualified.Kind.Record || !methodType.getParameterTypes().isEmpty()) {
+            return false;
+        }
+        for (JavaType.Variable component : declaringType.getMembers()) {
+            if (component.getName().equals(methodType.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean needsParentheses(Expression expression) {
+        return expression instanceof J.Binary || expression instanceof J.Ternary || expression instanceof J.Unary ||
+               expression instanceof J.TypeCast || expression instanceof J.InstanceOf;
+    }
+
+    private static boolean isLowerPrecedenceThanAnd(Expression expression) {
+        return expression instanceof J.Ternary ||
+               expression instanceof J.Binary && ((J.Binary) expression).getOperator() == J.Binary.Type.Or;
+    }
+
+    private static J.Parentheses<Expression> parenthesize(Expression expression, Space prefix) {
+        return new J.Parentheses<>(Tree.randomId(), prefix, Markers.EMPTY, JRightPadded.build(expression.withPrefix(Space.EMPTY)));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.J;
+
+public class ReactorMetricsToMicrometerTap extends Recipe {
+
+    static final String[] MICROMETER_CLASSPATH = {"reactor-core-3.5", "reactor-core-micrometer-1.0",
+            "micrometer-core-1.10", "micrometer-commons-1.10", "micrometer-observation-1.10", "reactive-streams"};
+
+    private static final MethodMatcher FLUX_METRICS = new MethodMatcher("reactor.core.publisher.Flux metrics()");
+    private static final MethodMatcher MONO_METRICS = new MethodMatcher("reactor.core.publisher.Mono metrics()");
+
+    @Override
+    public String getDisplayName() {
+        return "Replace `metrics()` with `tap(Micrometer.metrics(..))`";
+    }
+
+    @Override
+    public String getDescription() {
+        return "`Flux#metrics()` and `Mono#metrics()` are deprecated in 3.5 and removed in 3.6. " +
+               "Replace them with a `tap` using the `Micrometer` listener factory from `reactor-core-micrometer`, " +
+               "recording to the global registry that `metrics()` used by default.";
+    }
+
+    /**
+     * A {@code metrics()} call is the only sign that a project needs {@code reactor-core-micrometer}, and it is gone
+     * after the rewrite, so another cycle is needed for {@code UpgradeReactor_3_6} to find the {@code Micrometer} taps.
+     */
+    @Override
+    public boolean causesAnotherCycle() {
+        return true;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(Preconditions.or(
+                new UsesMethod<>(FLUX_METRICS),
+                new UsesMethod<>(MONO_METRICS)
+        ), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                boolean flux = FLUX_METRICS.matches(mi);
+                if ((!flux && !MONO_METRICS.matches(mi)) || mi.getSelect() == null) {
+                    return mi;
+                }
+                maybeAddImport("io.micrometer.core.instrument.Metrics");
+                maybeAddImport("reactor.core.observability.micrometer.Micrometer");
+                String selectType = flux ? "reactor.core.publisher.Flux" : "reactor.core.publisher.Mono";
+                return JavaTemplate.builder("#{any(" + selectType + ")}.tap(Micrometer.metrics(Metrics.globalRegistry))")
+                        .imports("io.micrometer.core.instrument.Metrics", "reactor.core.observability.micrometer.Micrometer")
+                        .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, MICROMETER_CLASSPATH))
+                        .build()
+                        .apply(getCursor(), mi.getCoordinates().replace(), mi.getSelect());
+            }
+        });
+    }
+}
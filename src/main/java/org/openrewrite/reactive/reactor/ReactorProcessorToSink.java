@@ -0,0 +1,357 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.reactive.reactor.table.BoundedReplaySinks;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Replaces all deprecated {@code Processor} factory methods with their {@code Sinks} equivalent in a single pass.
+ * <p>
+ * Behaves like the Refaster templates in {@link ReactorProcessorCreateToSink} and {@link ReactorProcessorCacheToSink}
+ * combined, but looks up the candidate rewrites of each method invocation by declaring type and method name,
+ * instead of running every template against every invocation.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class ReactorProcessorToSink extends Recipe {
+
+    private static final String SINKS = "reactor.core.publisher.Sinks";
+    private static final String QUEUES = "reactor.util.concurrent.Queues";
+    private static final String DURATION = "java.time.Duration";
+
+    private static final Map<String, List<Replacement>> REPLACEMENTS = new HashMap<>();
+
+    static {
+        add("MonoProcessor create()", "Sinks.one()");
+
+        add("ReplayProcessor create()", "Sinks.many().replay().all()");
+        add("ReplayProcessor create(int)", "Sinks.many().replay().limit(#{any(int)})", 0);
+        add("ReplayProcessor create(int, boolean)", false, "Sinks.many().replay().limit(#{any(int)})", 0);
+        add("ReplayProcessor create(int, boolean)", true, "Sinks.many().replay().all(#{any(int)})", 0);
+        add("ReplayProcessor createSizeAndTimeout(int, java.time.Duration)",
+                "Sinks.many().replay().limit(#{any(int)}, #{any(java.time.Duration)})", 0, 1);
+        add("ReplayProcessor createSizeAndTimeout(int, java.time.Duration, reactor.core.scheduler.Scheduler)",
+                "Sinks.many().replay().limit(#{any(int)}, #{any(java.time.Duration)}, #{any(reactor.core.scheduler.Scheduler)})", 0, 1, 2);
+        add("ReplayProcessor createTimeout(java.time.Duration)",
+                "Sinks.many().replay().limit(#{any(java.time.Duration)})", 0);
+        add("ReplayProcessor createTimeout(java.time.Duration, reactor.core.scheduler.Scheduler)",
+                "Sinks.many().replay().limit(#{any(java.time.Duration)}, #{any(reactor.core.scheduler.Scheduler)})", 0, 1);
+        add("ReplayProcessor cacheLast()", "Sinks.many().replay().latest()");
+        add("ReplayProcessor cacheLastOrDefault(..)", "Sinks.many().replay().latestOrDefault(#{any()})", 0);
+
+        add("DirectProcessor create()", "Sinks.many().multicast().directBestEffort()");
+
+        add("EmitterProcessor create()", "Sinks.many().multicast().onBackpressureBuffer()");
+        add("EmitterProcessor create(boolean)",
+                "Sinks.many().multicast().onBackpressureBuffer(Queues.SMALL_BUFFER_SIZE, #{any(boolean)})", 0);
+        add("EmitterProcessor create(int)", "Sinks.many().multicast().onBackpressureBuffer(#{any(int)})", 0);
+        add("EmitterProcessor create(int, boolean)",
+                "Sinks.many().multicast().onBackpressureBuffer(#{any(int)}, #{any(boolean)})", 0, 1);
+
+        add("UnicastProcessor create()", "Sinks.many().unicast().onBackpressureBuffer()");
+        add("UnicastProcessor create(java.util.Queue)",
+                "Sinks.many().unicast().onBackpressureBuffer(#{any(java.util.Queue)})", 0);
+        add("UnicastProcessor create(java.util.Queue, reactor.core.Disposable)",
+                "Sinks.many().unicast().onBackpressureBuffer(#{any(java.util.Queue)}, #{any(reactor.core.Disposable)})", 0, 1);
+        add("UnicastProcessor create(java.util.Queue, java.util.function.Consumer, reactor.core.Disposable)",
+                "Sinks.many().unicast().onBackpressureBuffer(#{any(java.util.Queue)}, #{any(reactor.core.Disposable)})", 0, 2);
+    }
+
+    private static void add(String signature, String template, int... arguments) {
+        add(signature, null, template, arguments);
+    }
+
+    private static void add(String signature, @Nullable Boolean lastArgumentLiteral, String template, int... arguments) {
+        String declaringType = "reactor.core.publisher." + signature.substring(0, signature.indexOf(' '));
+        String methodName = signature.substring(signature.indexOf(' ') + 1, signature.indexOf('('));
+        REPLACEMENTS.computeIfAbsent(declaringType + '#' + methodName, k -> new ArrayList<>())
+                .add(new Replacement(new MethodMatcher("reactor.core.publisher." + signature), lastArgumentLiteral, template, arguments));
+    }
+
+    @Option(displayName = "Use unsafe sinks for thread-confined processors",
+            description = "When the processor is assigned to a local variable that is only used by method calls in the " +
+                          "declaring method, and never captured by a lambda or passed elsewhere, use `Sinks.unsafe()` " +
+                          "instead of the serialized `Sinks.many()` and `Sinks.one()` specs.",
+            required = false)
+    @Nullable
+    Boolean unsafeForThreadConfined;
+
+    @Option(displayName = "Replay history limit",
+            description = "When set, unbounded `ReplayProcessor`s are migrated to `Sinks.many().replay().limit(..)` " +
+                          "retaining at most this many elements, instead of `Sinks.many().replay().all()`.",
+            example = "1000",
+            required = false)
+    @Nullable
+    Integer replayHistoryLimit;
+
+    @Option(displayName = "Replay history TTL",
+            description = "When set, unbounded `ReplayProcessor`s are migrated to `Sinks.many().replay().limit(..)` " +
+                          "retaining elements for at most this ISO-8601 duration. Combined with the history limit when both are set.",
+            example = "PT5M",
+            required = false)
+    @Nullable
+    String replayHistoryTtl;
+
+    transient BoundedReplaySinks boundedReplaySinks = new BoundedReplaySinks(this);
+
+    @Override
+    public String getDisplayName() {
+        return "Replace `Processor` factory methods with their `Sinks` equivalent";
+    }
+
+    @Override
+    public String getDescription() {
+        return "As of 3.5 Processors are deprecated and Sinks are preferred. " +
+               "Performs the same replacements as the individual `Processor.create` and `Processor.cache` recipes, " +
+               "in a single pass over each source file.";
+    }
+
+    @Override
+    public Validated<Object> validate() {
+        return super.validate()
+                .and(Validated.test("replayHistoryLimit", "must be positive",
+                        replayHistoryLimit, limit -> limit == null || limit > 0))
+                .and(Validated.test("replayHistoryTtl", "must be a positive ISO-8601 duration, such as `PT5M`",
+                        replayHistoryTtl, ttl -> ttl == null || isPositiveDuration(ttl)));
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        String boundedReplay = boundedReplayTemplate();
+        return Preconditions.check(new UsesType<>("reactor.core.publisher.*Processor", false), new JavaVisitor<ExecutionContext>() {
+            private final Map<String, JavaTemplate> templates = new HashMap<>();
+
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                Replacement replacement = replacement(mi);
+                if (replacement == null) {
+                    return mi;
+                }
+                String declaringType = Objects.requireNonNull(mi.getMethodType()).getDeclaringType().getFullyQualifiedName();
+                boolean bounded = boundedReplay != null && replacement.isUnboundedReplay();
+                String code = bounded ? boundedReplay : replacement.getTemplate();
+                if (Boolean.TRUE.equals(unsafeForThreadConfined) && isThreadConfined(getCursor())) {
+                    code = unsafe(code);
+                }
+                JavaTemplate template = templates.computeIfAbsent(code, c -> JavaTemplate.builder(c)
+                        .imports(SINKS, QUEUES, DURATION)
+                        .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "reactor-core-3.4", "reactive-streams"))
+                        .build());
+                maybeRemoveImport(declaringType);
+                maybeAddImport(SINKS);
+                if (code.contains("Queues.")) {
+                    maybeAddImport(QUEUES);
+                }
+                if (code.contains("Duration.")) {
+                    maybeAddImport(DURATION);
+                }
+                if (bounded) {
+                    boundedReplaySinks.insertRow(ctx, new BoundedReplaySinks.Row(
+                            getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString(),
+                            mi.printTrimmed(getCursor().getParentTreeCursor()),
+                            code));
+                    return template.apply(getCursor(), mi.getCoordinates().replace());
+                }
+                return template.apply(getCursor(), mi.getCoordinates().replace(), replacement.arguments(mi));
+            }
+        });
+    }
+
+    /**
+     * Whether the invocation is a {@code Processor} factory call that this recipe replaces by a {@code Sinks} spec.
+     */
+    static boolean hasReplacement(J.MethodInvocation mi) {
+        return replacement(mi) != null;
+    }
+
+    private static @Nullable Replacement replacement(J.MethodInvocation mi) {
+        JavaType.Method methodType = mi.getMethodType();
+        if (methodType == null) {
+            return null;
+        }
+        List<Replacement> candidates = REPLACEMENTS.get(methodType.getDeclaringType().getFullyQualifiedName() + '#' + methodType.getName());
+        if (candidates == null) {
+            return null;
+        }
+        for (Replacement replacement : candidates) {
+            if (replacement.matches(mi)) {
+                return replacement;
+            }
+        }
+        return null;
+    }
+
+    private @Nullable String boundedReplayTemplate() {
+        List<String> arguments = new ArrayList<>(2);
+        if (replayHistoryLimit != null) {
+            arguments.add(String.valueOf(replayHistoryLimit));
+        }
+        if (replayHistoryTtl != null) {
+            arguments.add(durationCode(Duration.parse(replayHistoryTtl)));
+        }
+        return arguments.isEmpty() ? null : "Sinks.many().replay().limit(" + String.join(", ", arguments) + ")";
+    }
+
+    /**
+     * Renders the duration in the largest unit that represents it exactly, such as {@code Duration.ofMinutes(5)}.
+     */
+    static String durationCode(Duration duration) {
+        long millis = duration.toMillis();
+        if (millis % 3_600_000 == 0) {
+            return "Duration.ofHours(" + millis / 3_600_000 + ")";
+        } else if (millis % 60_000 == 0) {
+            return "Duration.ofMinutes(" + millis / 60_000 + ")";
+        } else if (millis % 1_000 == 0) {
+            return "Duration.ofSeconds(" + millis / 1_000 + ")";
+        }
+        return "Duration.ofMillis(" + millis + ")";
+    }
+
+    private static boolean isPositiveDuration(String ttl) {
+        try {
+            Duration duration = Duration.parse(ttl);
+            return !duration.isNegative() && duration.toMillis() > 0;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static String unsafe(String template) {
+        return template
+                .replace("Sinks.many()", "Sinks.unsafe().many()")
+                .replace("Sinks.one()", "Sinks.unsafe().one()");
+    }
+
+    /**
+     * A processor is considered thread-confined when it initializes a local variable, and every reference to that
+     * variable is the receiver of a method call made directly in the declaring block, outside any lambda,
+     * method reference or anonymous class. Calls to {@code sink()} count as an escape, since the returned
+     * {@code FluxSink} can be stored or handed to other threads.
+     */
+    private static boolean isThreadConfined(Cursor cursor) {
+        Cursor variableCursor = cursor.getParentTreeCursor();
+        if (!(variableCursor.getValue() instanceof J.VariableDeclarations.NamedVariable)) {
+            return false;
+        }
+        J.VariableDeclarations.NamedVariable variable = variableCursor.getValue();
+        Cursor scopeCursor = variableCursor.getParentTreeCursor().getParentTreeCursor();
+        Object scopeOwner = scopeCursor.getParentTreeCursor().getValue();
+        if (!(scopeCursor.getValue() instanceof J.Block) || scopeOwner instanceof J.ClassDeclaration || scopeOwner instanceof J.NewClass) {
+            return false;
+        }
+
+        AtomicBoolean confined = new AtomicBoolean(true);
+        new JavaIsoVisitor<AtomicBoolean>() {
+            private int deferred;
+
+            @Override
+            public J.Lambda visitLambda(J.Lambda lambda, AtomicBoolean confined) {
+                deferred++;
+                J.Lambda l = super.visitLambda(lambda, confined);
+                deferred--;
+                return l;
+            }
+
+            @Override
+            public J.NewClass visitNewClass(J.NewClass newClass, AtomicBoolean confined) {
+                deferred++;
+                J.NewClass n = super.visitNewClass(newClass, confined);
+                deferred--;
+                return n;
+            }
+
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, AtomicBoolean confined) {
+                if (identifier.getFieldType() == null || !identifier.getSimpleName().equals(variable.getSimpleName())) {
+                    return identifier;
+                }
+                Object parent = getCursor().getParentTreeCursor().getValue();
+                if (parent == variable || parent instanceof J.FieldAccess && ((J.FieldAccess) parent).getName() == identifier) {
+                    return identifier;
+                }
+                if (deferred > 0 || !(parent instanceof J.MethodInvocation && ((J.MethodInvocation) parent).getSelect() == identifier) ||
+                    "sink".equals(((J.MethodInvocation) parent).getSimpleName())) {
+                    confined.set(false);
+                }
+                return identifier;
+            }
+        }.visit(scopeCursor.getValue(), confined, scopeCursor.getParentOrThrow());
+        return confined.get();
+    }
+
+    private static final class Replacement {
+        private final MethodMatcher matcher;
+
+        @Nullable
+        private final Boolean lastArgumentLiteral;
+
+        private final String template;
+        private final int[] arguments;
+
+        Replacement(MethodMatcher matcher, @Nullable Boolean lastArgumentLiteral, String template, int[] arguments) {
+            this.matcher = matcher;
+            this.lastArgumentLiteral = lastArgumentLiteral;
+            this.template = template;
+            this.arguments = arguments;
+        }
+
+        String getTemplate() {
+            return template;
+        }
+
+        boolean isUnboundedReplay() {
+            return template.startsWith("Sinks.many().replay().all(");
+        }
+
+        boolean matches(J.MethodInvocation mi) {
+            if (!matcher.matches(mi)) {
+                return false;
+            }
+            if (lastArgumentLiteral == null) {
+                return true;
+            }
+            Expression last = mi.getArguments().get(mi.getArguments().size() - 1);
+            return last instanceof J.Literal && lastArgumentLiteral.equals(((J.Literal) last).getValue());
+        }
+
+        Object[] arguments(J.MethodInvocation mi) {
+            Object[] args = new Object[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                args[i] = mi.getArguments().get(arguments[i]);
+            }
+            return args;
+        }
+    }
+}
@@ -0,0 +1,425 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Migrates the declarations and usages of processor variables, and leaves the factory call initializing them to
+ * {@link ReactorProcessorToSink}, which runs right after this recipe in {@code MigrateReactorApis_3_5}.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class ReactorProcessorUsagesToSink extends Recipe {
+
+    private static final String SINKS = "reactor.core.publisher.Sinks";
+    private static final String DURATION = "java.time.Duration";
+
+    private static final Set<String> MANY_PROCESSORS = new HashSet<>(Arrays.asList(
+            "reactor.core.publisher.DirectProcessor",
+            "reactor.core.publisher.EmitterProcessor",
+            "reactor.core.publisher.ReplayProcessor",
+            "reactor.core.publisher.UnicastProcessor"));
+    private static final String MONO_PROCESSOR = "reactor.core.publisher.MonoProcessor";
+
+    private static final Set<String> PUBLISHERS = new HashSet<>(Arrays.asList(
+            "org.reactivestreams.Publisher",
+            "reactor.core.CorePublisher",
+            "reactor.core.publisher.Flux",
+            "reactor.core.publisher.Mono"));
+
+    private static final Map<String, String> SINK_SIGNALS = new HashMap<>();
+
+    static {
+        SINK_SIGNALS.put("next", "onNext");
+        SINK_SIGNALS.put("complete", "onComplete");
+        SINK_SIGNALS.put("error", "onError");
+    }
+
+    private static final String TRY_EMIT = "TRY_EMIT";
+    private static final String FAIL_FAST = "FAIL_FAST";
+    private static final String BUSY_LOOPING = "BUSY_LOOPING";
+
+    @Option(displayName = "Emit failure handling",
+            description = "How emissions handle a failure, such as a concurrent emission from another thread. " +
+                          "`TRY_EMIT` uses `tryEmitNext(..)` and ignores the result, `FAIL_FAST` uses " +
+                          "`emitNext(.., EmitFailureHandler.FAIL_FAST)`, and `BUSY_LOOPING` retries concurrent emissions " +
+                          "with `emitNext(.., EmitFailureHandler.busyLooping(duration))`, for hot paths with several producers. " +
+                          "Emissions through `sink()`, which serialized concurrent producers, always use `BUSY_LOOPING`. " +
+                          "Defaults to `FAIL_FAST`.",
+            valid = {TRY_EMIT, FAIL_FAST, BUSY_LOOPING},
+            example = FAIL_FAST,
+            required = false)
+    @Nullable
+    String emitFailureHandling;
+
+    @Option(displayName = "Busy looping duration",
+            description = "The ISO-8601 duration for which `BUSY_LOOPING` and emissions through `sink()` retry an emission. Defaults to `PT0.1S`.",
+            example = "PT0.1S",
+            required = false)
+    @Nullable
+    String busyLoopingDuration;
+
+    @Override
+    public String getDisplayName() {
+        return "Migrate `Processor` variables to `Sinks`";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Changes the type of local variables and private fields initialized with a `Processor` factory method to " +
+               "`Sinks.Many` or `Sinks.One`, and follows the variable to rewrite `onNext`, `onComplete` and `onError`, also " +
+               "through `sink()`, to the emit methods of the sink, and to call `asFlux()` or `asMono()` where the variable is used " +
+               "as a publisher. The `FluxSink` returned by `sink()` serialized concurrent producers, so emissions through it retry " +
+               "with `EmitFailureHandler.busyLooping(..)` instead of failing. Variables that are also used in other ways, such as " +
+               "a `Subscriber`, and variables whose name is declared more than once in the same method, are left unchanged.";
+    }
+
+    @Override
+    public Validated<Object> validate() {
+        return super.validate()
+                .and(Validated.test("busyLoopingDuration", "must be a positive ISO-8601 duration, such as `PT0.1S`",
+                        busyLoopingDuration, d -> d == null || isPositiveDuration(d)));
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(new UsesType<>("reactor.core.publisher.*Processor", false), new JavaVisitor<ExecutionContext>() {
+            private final Map<JavaType.Variable, Boolean> migrated = new IdentityHashMap<>();
+
+            @Override
+            public J visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                migrated.clear();
+                migrated.putAll(findMigratableVariables(cu));
+                if (migrated.isEmpty()) {
+                    return cu;
+                }
+                return super.visitCompilationUnit(cu, ctx);
+            }
+
+            @Override
+            public J visitVariableDeclarations(J.VariableDeclarations multiVariable, ExecutionContext ctx) {
+                J.VariableDeclarations vd = (J.VariableDeclarations) super.visitVariableDeclarations(multiVariable, ctx);
+                Boolean one = vd.getVariables().size() == 1 ? get(vd.getVariables().get(0).getVariableType()) : null;
+                if (one == null || vd.getTypeExpression() == null ||
+                    vd.getTypeExpression() instanceof J.Identifier && "var".equals(((J.Identifier) vd.getTypeExpression()).getSimpleName())) {
+                    return vd;
+                }
+                maybeAddImport(SINKS, null, false);
+                return vd.withTypeExpression(sinkType(vd.getTypeExpression(), one ? "One" : "Many"));
+            }
+
+            @Override
+            public J visitIdentifier(J.Identifier ident, ExecutionContext ctx) {
+                J.Identifier i = (J.Identifier) super.visitIdentifier(ident, ctx);
+                Object parent = getCursor().getParentTreeCursor().getValue();
+                Boolean one = get(i.getFieldType());
+                if (one == null || parent instanceof J.FieldAccess && ((J.FieldAccess) parent).getName() == ident ||
+                    classify(getCursor()) != Usage.PUBLISHER) {
+                    return i;
+                }
+                return asPublisher(i, one, ctx);
+            }
+
+            @Override
+            public J visitFieldAccess(J.FieldAccess fieldAccess, ExecutionContext ctx) {
+                J.FieldAccess fa = (J.FieldAccess) super.visitFieldAccess(fieldAccess, ctx);
+                Boolean one = isThisReference(fieldAccess) ? get(fa.getName().getFieldType()) : null;
+                if (one == null || classify(getCursor()) != Usage.PUBLISHER) {
+                    return fa;
+                }
+                return asPublisher(fa, one, ctx);
+            }
+
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                Expression sink = mi.getSelect();
+                String signal = mi.getSimpleName();
+                boolean serialized = sink instanceof J.MethodInvocation && "sink".equals(((J.MethodInvocation) sink).getSimpleName());
+                if (serialized && SINK_SIGNALS.containsKey(signal)) {
+                    sink = ((J.MethodInvocation) sink).getSelect();
+                    signal = SINK_SIGNALS.get(signal);
+                } else if (serialized || !SINK_SIGNALS.containsValue(signal)) {
+                    return mi;
+                }
+                Boolean one = get(reference(sink));
+                if (one == null) {
+                    return mi;
+                }
+                String code = emission(one, signal, serialized);
+                maybeAddImport(SINKS);
+                if (code.contains("Duration.")) {
+                    maybeAddImport(DURATION);
+                }
+                return JavaTemplate.builder(code)
+                        .imports(SINKS, DURATION)
+                        // `EmitFailureHandler.busyLooping(..)` was added in 3.5
+                        .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx,
+                                code.contains("busyLooping") ? "reactor-core-3.5" : "reactor-core-3.4", "reactive-streams"))
+                        .build()
+                        .apply(getCursor(), mi.getCoordinates().replace(), arguments(sink, mi));
+            }
+
+            private @Nullable Boolean get(JavaType.@Nullable Variable variable) {
+                return variable == null ? null : migrated.get(variable);
+            }
+
+            private J asPublisher(Expression reference, boolean one, ExecutionContext ctx) {
+                return JavaTemplate.builder("#{any(reactor.core.publisher.Sinks." + (one ? "One" : "Many") + ")}." +
+                                            (one ? "asMono()" : "asFlux()"))
+                        .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "reactor-core-3.4", "reactive-streams"))
+                        .build()
+                        .apply(getCursor(), reference.getCoordinates().replace(), reference);
+            }
+        });
+    }
+
+    /**
+     * @param serialized Whether the emission went through {@code sink()}, which is safe for concurrent producers.
+     */
+    private String emission(boolean one, String signal, boolean serialized) {
+        String type = "#{any(reactor.core.publisher.Sinks." + (one ? "One" : "Many") + ")}";
+        String value = "onNext".equals(signal) ? "#{any()}" : "onError".equals(signal) ? "#{any(java.lang.Throwable)}" : "";
+        String method = "onNext".equals(signal) ? (one ? "Value" : "Next") : "onError".equals(signal) ? "Error" : (one ? "Empty" : "Complete");
+        if (TRY_EMIT.equals(emitFailureHandling) && !serialized) {
+            return type + ".tryEmit" + method + "(" + value + ")";
+        }
+        String handler = BUSY_LOOPING.equals(emitFailureHandling) || serialized ?
+                "Sinks.EmitFailureHandler.busyLooping(" + ReactorProcessorToSink.durationCode(
+                        busyLoopingDuration == null ? Duration.ofMillis(100) : Duration.parse(busyLoopingDuration)) + ")" :
+                "Sinks.EmitFailureHandler.FAIL_FAST";
+        return type + ".emit" + method + "(" + (value.isEmpty() ? "" : value + ", ") + handler + ")";
+    }
+
+    private static Object[] arguments(Expression sink, J.MethodInvocation emission) {
+        List<Object> arguments = new ArrayList<>();
+        arguments.add(sink);
+        for (Expression argument : emission.getArguments()) {
+            if (!(argument instanceof J.Empty)) {
+                arguments.add(argument);
+            }
+        }
+        return arguments.toArray();
+    }
+
+    /**
+     * @return the local variables and private fields that can be migrated, by identity of their type attribution,
+     * with whether they become a {@code Sinks.One} rather than a {@code Sinks.Many}.
+     */
+    private static Map<JavaType.Variable, Boolean> findMigratableVariables(J.CompilationUnit cu) {
+        Map<JavaType.Variable, Boolean> candidates = new IdentityHashMap<>();
+        // Variables of the same name and type declared twice in a method, such as in two lambdas, share their attribution
+        Set<JavaType.Variable> declared = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<JavaType.Variable> ambiguous = Collections.newSetFromMap(new IdentityHashMap<>());
+        new JavaIsoVisitor<Map<JavaType.Variable, Boolean>>() {
+            @Override
+            public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, Map<JavaType.Variable, Boolean> c) {
+                if (variable.getVariableType() != null && !declared.add(variable.getVariableType())) {
+                    ambiguous.add(variable.getVariableType());
+                }
+                return super.visitVariable(variable, c);
+            }
+
+            @Override
+            public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, Map<JavaType.Variable, Boolean> c) {
+                J.VariableDeclarations vd = super.visitVariableDeclarations(multiVariable, c);
+                if (vd.getVariables().size() != 1 || !vd.getLeadingAnnotations().isEmpty() || vd.getTypeExpression() == null ||
+                    vd.getVariables().get(0).getVariableType() == null) {
+                    return vd;
+                }
+                String processor = processorType(vd.getTypeExpression().getType());
+                J.VariableDeclarations.NamedVariable variable = vd.getVariables().get(0);
+                Object owner = getCursor().getParentTreeCursor().getParentTreeCursor().getValue();
+                boolean field = owner instanceof J.ClassDeclaration;
+                if (processor == null || !isFactoryCall(variable.getInitializer(), processor) ||
+                    field && !vd.hasModifier(J.Modifier.Type.Private) ||
+                    !field && !(owner instanceof J.MethodDeclaration || owner instanceof J.Block)) {
+                    return vd;
+                }
+                c.put(variable.getVariableType(), MONO_PROCESSOR.equals(processor));
+                return vd;
+            }
+        }.visit(cu, candidates);
+        candidates.keySet().removeAll(ambiguous);
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        new JavaIsoVisitor<Map<JavaType.Variable, Boolean>>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier ident, Map<JavaType.Variable, Boolean> c) {
+                JavaType.Variable key = ident.getFieldType();
+                if (key == null || !c.containsKey(key)) {
+                    return ident;
+                }
+                Cursor reference = getCursor();
+                Object parent = getCursor().getParentTreeCursor().getValue();
+                if (parent instanceof J.FieldAccess && ((J.FieldAccess) parent).getName() == ident) {
+                    if (!isThisReference((J.FieldAccess) parent)) {
+                        c.remove(key);
+                        return ident;
+                    }
+                    reference = getCursor().getParentTreeCursor();
+                }
+                if (classify(reference) == Usage.UNSUPPORTED) {
+                    c.remove(key);
+                }
+                return ident;
+            }
+        }.visit(cu, candidates);
+        return candidates;
+    }
+
+    private enum Usage {
+        DECLARATION,
+        EMISSION,
+        PUBLISHER,
+        UNSUPPORTED
+    }
+
+    /**
+     * @param cursor The cursor of an identifier or {@code this.} field access referring to a processor variable.
+     */
+    private static Usage classify(Cursor cursor) {
+        Expression reference = cursor.getValue();
+        Cursor parentCursor = cursor.getParentTreeCursor();
+        Object parent = parentCursor.getValue();
+        boolean one = MONO_PROCESSOR.equals(processorType(reference.getType()));
+        if (parent instanceof J.VariableDeclarations.NamedVariable && ((J.VariableDeclarations.NamedVariable) parent).getName() == reference) {
+            return Usage.DECLARATION;
+        }
+        if (parent instanceof J.MethodInvocation && ((J.MethodInvocation) parent).getSelect() == reference) {
+            J.MethodInvocation call = (J.MethodInvocation) parent;
+            if (SINK_SIGNALS.containsValue(call.getSimpleName())) {
+                return Usage.EMISSION;
+            }
+            if ("sink".equals(call.getSimpleName()) && call.getArguments().stream().allMatch(J.Empty.class::isInstance)) {
+                Object grandparent = parentCursor.getParentTreeCursor().getValue();
+                return grandparent instanceof J.MethodInvocation && ((J.MethodInvocation) grandparent).getSelect() == call &&
+                       SINK_SIGNALS.containsKey(((J.MethodInvocation) grandparent).getSimpleName()) ?
+                        Usage.EMISSION : Usage.UNSUPPORTED;
+            }
+            // Operators overridden by the processor, such as some `subscribe` overloads, are not followed
+            JavaType.Method methodType = call.getMethodType();
+            return methodType != null && PUBLISHERS.contains(methodType.getDeclaringType().getFullyQualifiedName()) ?
+                    Usage.PUBLISHER : Usage.UNSUPPORTED;
+        }
+        if (parent instanceof J.Return) {
+            J.MethodDeclaration method = cursor.firstEnclosing(J.MethodDeclaration.class);
+            J.Lambda lambda = cursor.firstEnclosing(J.Lambda.class);
+            return lambda == null && method != null && method.getReturnTypeExpression() != null &&
+                   acceptsPublisher(method.getReturnTypeExpression().getType(), one) ? Usage.PUBLISHER : Usage.UNSUPPORTED;
+        }
+        if (parent instanceof MethodCall) {
+            MethodCall call = (MethodCall) parent;
+            JavaType.Method methodType = call.getMethodType();
+            int index = call.getArguments().indexOf(reference);
+            if (methodType == null || index < 0 || methodType.getParameterTypes().isEmpty()) {
+                return Usage.UNSUPPORTED;
+            }
+            List<JavaType> parameterTypes = methodType.getParameterTypes();
+            JavaType parameterType = parameterTypes.get(Math.min(index, parameterTypes.size() - 1));
+            return acceptsPublisher(parameterType, one) ? Usage.PUBLISHER : Usage.UNSUPPORTED;
+        }
+        return Usage.UNSUPPORTED;
+    }
+
+    private static boolean acceptsPublisher(@Nullable JavaType type, boolean one) {
+        JavaType.FullyQualified fq = TypeUtils.asFullyQualified(type);
+        if (fq == null) {
+            return false;
+        }
+        String name = fq.getFullyQualifiedName();
+        return "org.reactivestreams.Publisher".equals(name) || "reactor.core.CorePublisher".equals(name) ||
+               (one ? "reactor.core.publisher.Mono" : "reactor.core.publisher.Flux").equals(name);
+    }
+
+    private static boolean isThisReference(J.FieldAccess fieldAccess) {
+        return fieldAccess.getTarget() instanceof J.Identifier &&
+               "this".equals(((J.Identifier) fieldAccess.getTarget()).getSimpleName());
+    }
+
+    private static @Nullable String processorType(@Nullable JavaType type) {
+        JavaType.FullyQualified fq = TypeUtils.asFullyQualified(type);
+        if (fq == null) {
+            return null;
+        }
+        String name = fq.getFullyQualifiedName();
+        return MANY_PROCESSORS.contains(name) || MONO_PROCESSOR.equals(name) ? name : null;
+    }
+
+    private static boolean isFactoryCall(@Nullable Expression initializer, String processor) {
+        if (!(initializer instanceof J.MethodInvocation)) {
+            return false;
+        }
+        JavaType.Method methodType = ((J.MethodInvocation) initializer).getMethodType();
+        return methodType != null && processor.equals(methodType.getDeclaringType().getFullyQualifiedName()) &&
+               ReactorProcessorToSink.hasReplacement((J.MethodInvocation) initializer);
+    }
+
+    private static @Nullable JavaType.Variable reference(@Nullable Expression expression) {
+        if (expression instanceof J.Identifier) {
+            return ((J.Identifier) expression).getFieldType();
+        }
+        if (expression instanceof J.FieldAccess && isThisReference((J.FieldAccess) expression)) {
+            return ((J.FieldAccess) expression).getName().getFieldType();
+        }
+        return null;
+    }
+
+    private static TypeTree sinkType(TypeTree typeExpression, String nestedName) {
+        JavaType.ShallowClass sinks = JavaType.ShallowClass.build(SINKS);
+        JavaType.ShallowClass nested = JavaType.ShallowClass.build(SINKS + '$' + nestedName);
+        J.FieldAccess clazz = new J.FieldAccess(Tree.randomId(), Space.EMPTY, Markers.EMPTY,
+                new J.Identifier(Tree.randomId(), Space.EMPTY, Markers.EMPTY, emptyList(), "Sinks", sinks, null),
+                JLeftPadded.build(new J.Identifier(Tree.randomId(), Space.EMPTY, Markers.EMPTY, emptyList(), nestedName, nested, null)),
+                nested);
+        if (typeExpression instanceof J.ParameterizedType) {
+            J.ParameterizedType parameterized = (J.ParameterizedType) typeExpression;
+            JavaType.Parameterized type = TypeUtils.asParameterized(parameterized.getType());
+            return parameterized
+                    .withClazz(clazz)
+                    .withType(type == null ? nested : new JavaType.Parameterized(null, nested, type.getTypeParameters()));
+        }
+        return clazz.withPrefix(typeExpression.getPrefix());
+    }
+
+    private static boolean isPositiveDuration(String duration) {
+        try {
+            Duration d = Duration.parse(duration);
+            return !d.isNegative() && d.toMillis() > 0;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
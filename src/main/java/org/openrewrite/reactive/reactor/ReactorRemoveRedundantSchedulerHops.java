@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.SemanticallyEqual;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class ReactorRemoveRedundantSchedulerHops extends Recipe {
+
+    private static final List<MethodMatcher> SUBSCRIBE_ON = Arrays.asList(
+            new MethodMatcher("reactor.core.publisher.Flux subscribeOn(..)"),
+            new MethodMatcher("reactor.core.publisher.Mono subscribeOn(..)"));
+    private static final List<MethodMatcher> PUBLISH_ON = Arrays.asList(
+            new MethodMatcher("reactor.core.publisher.Flux publishOn(reactor.core.scheduler.Scheduler)"),
+            new MethodMatcher("reactor.core.publisher.Mono publishOn(reactor.core.scheduler.Scheduler)"));
+    private static final MethodMatcher SHARED_SCHEDULER = new MethodMatcher("reactor.core.scheduler.Schedulers *()");
+
+    /**
+     * Operators that do no work of their own when subscribed to, so a {@code subscribeOn} below them cannot
+     * change the thread anything runs on when there is another {@code subscribeOn} above them.
+     */
+    private static final Set<String> SUBSCRIPTION_TRANSPARENT = new HashSet<>(Arrays.asList(
+            "map", "filter", "flatMap", "flatMapMany", "flatMapSequential", "concatMap", "switchMap", "handle",
+            "doOnNext", "doOnSuccess", "doOnError", "doOnComplete", "take", "skip", "distinct", "distinctUntilChanged",
+            "cast", "ofType", "next", "last", "collectList", "publishOn", "subscribeOn"));
+
+    @Override
+    public String getDisplayName() {
+        return "Remove redundant `subscribeOn` and `publishOn` calls";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Only the `subscribeOn` closest to the source decides where the source is subscribed to, so another `subscribeOn` " +
+               "further down the same chain only adds a thread hop. Removes such `subscribeOn` calls when the operators in between " +
+               "do no work on subscription, and removes a `publishOn` that directly follows a `publishOn` to the same shared scheduler.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(Preconditions.or(
+                new UsesMethod<>("reactor.core.publisher.* subscribeOn(..)"),
+                new UsesMethod<>("reactor.core.publisher.* publishOn(..)")
+        ), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                if (mi.getSelect() == null) {
+                    return mi;
+                }
+                if (matchesAny(SUBSCRIBE_ON, mi) && hasUpstreamSubscribeOn(mi.getSelect())) {
+                    return mi.getSelect().withPrefix(mi.getPrefix());
+                }
+                if (matchesAny(PUBLISH_ON, mi) && mi.getSelect() instanceof J.MethodInvocation) {
+                    J.MethodInvocation previous = (J.MethodInvocation) mi.getSelect();
+                    Expression scheduler = mi.getArguments().get(0);
+                    if (matchesAny(PUBLISH_ON, previous) && isShared(scheduler) &&
+                        SemanticallyEqual.areEqual(previous.getArguments().get(0), scheduler)) {
+                        return previous.withPrefix(mi.getPrefix());
+                    }
+                }
+                return mi;
+            }
+        });
+    }
+
+    private static boolean hasUpstreamSubscribeOn(Expression select) {
+        Expression current = select;
+        while (current instanceof J.MethodInvocation) {
+            J.MethodInvocation call = (J.MethodInvocation) current;
+            if (matchesAny(SUBSCRIBE_ON, call)) {
+                return true;
+            }
+            JavaType.Method methodType = call.getMethodType();
+            if (methodType == null || !SUBSCRIPTION_TRANSPARENT.contains(methodType.getName()) ||
+                !TypeUtils.isOfClassType(methodType.getDeclaringType(), "reactor.core.publisher.Flux") &&
+                !TypeUtils.isOfClassType(methodType.getDeclaringType(), "reactor.core.publisher.Mono")) {
+                return false;
+            }
+            current = call.getSelect();
+        }
+        return false;
+    }
+
+    /**
+     * Variables and the shared schedulers such as {@code Schedulers.parallel()} denote the same scheduler each time,
+     * while {@code Schedulers.newParallel(..)} creates a new one.
+     */
+    private static boolean isShared(Expression scheduler) {
+        return scheduler instanceof J.Identifier || scheduler instanceof J.FieldAccess ||
+               scheduler instanceof J.MethodInvocation && SHARED_SCHEDULER.matches((J.MethodInvocation) scheduler);
+    }
+
+    private static boolean matchesAny(List<MethodMatcher> matchers, J.MethodInvocation mi) {
+        for (MethodMatcher matcher : matchers) {
+            if (matcher.matches(mi)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
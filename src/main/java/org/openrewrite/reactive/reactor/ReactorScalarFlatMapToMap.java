@@ -0,0 +1,149 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+public class ReactorScalarFlatMapToMap extends Recipe {
+
+    private static final List<MethodMatcher> FLUX_FLAT_MAPS = Arrays.asList(
+            new MethodMatcher("reactor.core.publisher.Flux flatMap(java.util.function.Function)"),
+            new MethodMatcher("reactor.core.publisher.Flux flatMapSequential(java.util.function.Function)"),
+            new MethodMatcher("reactor.core.publisher.Flux concatMap(java.util.function.Function)"),
+            new MethodMatcher("reactor.core.publisher.Flux switchMap(java.util.function.Function)"));
+    private static final MethodMatcher MONO_FLAT_MAP = new MethodMatcher("reactor.core.publisher.Mono flatMap(java.util.function.Function)");
+    private static final MethodMatcher MONO_FLAT_MAP_MANY = new MethodMatcher("reactor.core.publisher.Mono flatMapMany(java.util.function.Function)");
+
+    private static final MethodMatcher MONO_JUST = new MethodMatcher("reactor.core.publisher.Mono just(..)");
+    private static final MethodMatcher FLUX_JUST = new MethodMatcher("reactor.core.publisher.Flux just(..)");
+
+    @Override
+    public String getDisplayName() {
+        return "Replace `flatMap` to a scalar publisher with `map`";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Inner publishers created with `Mono.just(..)` or `Flux.just(..)` cost an allocation and a subscription per element, " +
+               "and prevent operator fusion. Replace `flatMap(x -> Mono.just(f(x)))`, and the `concatMap`, `flatMapSequential` and " +
+               "`switchMap` equivalents, with `map(x -> f(x))`, drop `flatMap(Mono::just)`, and replace `flatMapMany(Flux::just)` with `flux()`. " +
+               "A `null` from the mapper, and any exception it throws, still signal `onError`.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(Preconditions.or(
+                new UsesType<>("reactor.core.publisher.Flux", false),
+                new UsesType<>("reactor.core.publisher.Mono", false)
+        ), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                if (mi.getSelect() == null) {
+                    return mi;
+                }
+                boolean flux = FLUX_FLAT_MAPS.stream().anyMatch(m -> m.matches(mi));
+                if (flux || MONO_FLAT_MAP.matches(mi)) {
+                    Expression mapper = mi.getArguments().get(0);
+                    if (isJustReference(mapper, flux)) {
+                        return mi.getSelect().withPrefix(mi.getPrefix());
+                    }
+                    Expression scalar = scalarLambdaBody(mapper, flux);
+                    JavaType.Method methodType = mapMethod(mi.getMethodType());
+                    if (scalar != null && methodType != null) {
+                        J.Lambda lambda = (J.Lambda) mapper;
+                        return mi
+                                .withName(mi.getName().withSimpleName("map").withType(methodType))
+                                .withMethodType(methodType)
+                                .withArguments(singletonList(lambda.withBody(scalar.withPrefix(lambda.getBody().getPrefix()))));
+                    }
+                } else if (MONO_FLAT_MAP_MANY.matches(mi) && isJustReference(mi.getArguments().get(0), true)) {
+                    return JavaTemplate.builder("#{any(reactor.core.publisher.Mono)}.flux()")
+                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "reactor-core-3.4", "reactive-streams"))
+                            .build()
+                            .apply(getCursor(), mi.getCoordinates().replace(), mi.getSelect());
+                }
+                return mi;
+            }
+        });
+    }
+
+    /**
+     * @return the {@code map} method declared by the {@code Flux} or {@code Mono} declaring the replaced operator.
+     */
+    private static JavaType.@Nullable Method mapMethod(JavaType.@Nullable Method flatMap) {
+        if (flatMap == null) {
+            return null;
+        }
+        for (JavaType.Method method : flatMap.getDeclaringType().getMethods()) {
+            if ("map".equals(method.getName()) && method.getParameterTypes().size() == 1) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isJustReference(Expression mapper, boolean allowFlux) {
+        return mapper instanceof J.MemberReference &&
+               (MONO_JUST.matches(mapper) || allowFlux && FLUX_JUST.matches(mapper) && isSingleElementJust(((J.MemberReference) mapper).getMethodType()));
+    }
+
+    private static boolean isSingleElementJust(JavaType.@Nullable Method methodType) {
+        return methodType != null &&
+               methodType.getParameterTypes().size() == 1 &&
+               !(methodType.getParameterTypes().get(0) instanceof JavaType.Array);
+    }
+
+    /**
+     * @return the element of a single parameter, expression bodied lambda returning {@code Mono.just(element)},
+     * or {@code Flux.just(element)} if allowed, and {@code null} otherwise.
+     */
+    private static @Nullable Expression scalarLambdaBody(Expression mapper, boolean allowFlux) {
+        if (!(mapper instanceof J.Lambda)) {
+            return null;
+        }
+        J.Lambda lambda = (J.Lambda) mapper;
+        if (lambda.getParameters().getParameters().size() != 1 || !(lambda.getBody() instanceof J.MethodInvocation)) {
+            return null;
+        }
+        J.MethodInvocation just = (J.MethodInvocation) lambda.getBody();
+        if (just.getArguments().size() != 1 || just.getArguments().get(0) instanceof J.Empty) {
+            return null;
+        }
+        if (MONO_JUST.matches(just) || allowFlux && FLUX_JUST.matches(just) && isSingleElementJust(just.getMethodType()) &&
+                                       !(just.getArguments().get(0).getType() instanceof JavaType.Array)) {
+            return just.getArguments().get(0);
+        }
+        return null;
+    }
+}
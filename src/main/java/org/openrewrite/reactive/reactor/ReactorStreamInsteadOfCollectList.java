@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+
+public class ReactorStreamInsteadOfCollectList extends Recipe {
+
+    private static final MethodMatcher COLLECT_LIST = new MethodMatcher("reactor.core.publisher.Flux collectList()");
+    private static final MethodMatcher FLAT_MAP_MANY = new MethodMatcher("reactor.core.publisher.Mono flatMapMany(java.util.function.Function)");
+    private static final MethodMatcher FLAT_MAP_ITERABLE = new MethodMatcher("reactor.core.publisher.Mono flatMapIterable(java.util.function.Function)");
+    private static final MethodMatcher MAP = new MethodMatcher("reactor.core.publisher.Mono map(java.util.function.Function)");
+
+    private static final MethodMatcher FROM_ITERABLE = new MethodMatcher("reactor.core.publisher.Flux fromIterable(..)");
+    private static final MethodMatcher IDENTITY = new MethodMatcher("java.util.function.Function identity()");
+    private static final MethodMatcher SIZE = new MethodMatcher("java.util.Collection size()", true);
+    private static final MethodMatcher IS_EMPTY = new MethodMatcher("java.util.Collection isEmpty()", true);
+
+    @Override
+    public String getDisplayName() {
+        return "Stream elements instead of collecting them into a list";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Collecting a `Flux` into a list only to iterate over it again, or to look at its size, holds every element in memory " +
+               "until the source completes. Removes `collectList().flatMapMany(Flux::fromIterable)` and " +
+               "`collectList().flatMapIterable(identity())`, and replaces `collectList().map(List::size)` with " +
+               "`count().map(Long::intValue)` and `collectList().map(List::isEmpty)` with `hasElements().map(Boolean.FALSE::equals)`. " +
+               "Lambdas equivalent to these method references are replaced as well. " +
+               "Without `collectList()`, elements are no longer emitted all at once when the source completes: " +
+               "downstream operators see the elements that arrived before an upstream error, and a downstream `retry()` " +
+               "emits the elements of the failed attempt again. Review chains that handle errors or retry after the rewrite.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(new UsesMethod<>(COLLECT_LIST), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                if (!(mi.getSelect() instanceof J.MethodInvocation) || !COLLECT_LIST.matches(mi.getSelect())) {
+                    return mi;
+                }
+                Expression flux = ((J.MethodInvocation) mi.getSelect()).getSelect();
+                if (flux == null) {
+                    return mi;
+                }
+                Expression mapper = mi.getArguments().get(0);
+                if (FLAT_MAP_MANY.matches(mi) && appliesToList(mapper, FROM_ITERABLE, true) ||
+                    FLAT_MAP_ITERABLE.matches(mi) && (IDENTITY.matches(mapper) || isIdentityLambda(mapper))) {
+                    return flux.withPrefix(mi.getPrefix());
+                }
+                if (MAP.matches(mi)) {
+                    if (appliesToList(mapper, SIZE, false)) {
+                        return replace(mi, flux, "#{any(reactor.core.publisher.Flux)}.count().map(Long::intValue)", ctx);
+                    } else if (appliesToList(mapper, IS_EMPTY, false)) {
+                        return replace(mi, flux, "#{any(reactor.core.publisher.Flux)}.hasElements().map(Boolean.FALSE::equals)", ctx);
+                    }
+                }
+                return mi;
+            }
+
+            private J replace(J.MethodInvocation mi, Expression flux, String code, ExecutionContext ctx) {
+                return JavaTemplate.builder(code)
+                        .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "reactor-core-3.4", "reactive-streams"))
+                        .build()
+                        .apply(getCursor(), mi.getCoordinates().replace(), flux);
+            }
+        });
+    }
+
+    /**
+     * @param asArgument whether the list is the argument of the method, such as {@code Flux.fromIterable(list)},
+     *                   or the receiver, such as {@code list.size()}.
+     * @return whether the mapper is a method reference to, or a lambda only calling, the method on the collected list.
+     */
+    private static boolean appliesToList(Expression mapper, MethodMatcher matcher, boolean asArgument) {
+        if (mapper instanceof J.MemberReference) {
+            return matcher.matches(mapper);
+        }
+        String parameter = lambdaParameter(mapper);
+        if (parameter == null || !(((J.Lambda) mapper).getBody() instanceof J.MethodInvocation)) {
+            return false;
+        }
+        J.MethodInvocation call = (J.MethodInvocation) ((J.Lambda) mapper).getBody();
+        if (!matcher.matches(call)) {
+            return false;
+        }
+        return asArgument ?
+                call.getArguments().size() == 1 && isIdentifier(call.getArguments().get(0), parameter) :
+                isIdentifier(call.getSelect(), parameter);
+    }
+
+    private static boolean isIdentityLambda(Expression mapper) {
+        String parameter = lambdaParameter(mapper);
+        return parameter != null && isIdentifier(((J.Lambda) mapper).getBody(), parameter);
+    }
+
+    private static @Nullable String lambdaParameter(Expression mapper) {
+        if (!(mapper instanceof J.Lambda) || ((J.Lambda) mapper).getParameters().getParameters().size() != 1) {
+            return null;
+        }
+        J parameter = ((J.Lambda) mapper).getParameters().getParameters().get(0);
+        return parameter instanceof J.VariableDeclarations ?
+                ((J.VariableDeclarations) parameter).getVariables().get(0).getSimpleName() :
+                null;
+    }
+
+    private static boolean isIdentifier(@Nullable J tree, String name) {
+        return tree instanceof J.Identifier && ((J.Identifier) tree).getSimpleName().equals(name);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.Flag;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.reactive.reactor.table.TakeDemandDecisions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class ReactorTakePreservesUpstreamDemand extends Recipe {
+
+    private static final MethodMatcher TAKE = new MethodMatcher("reactor.core.publisher.Flux take(long)");
+
+    /**
+     * Sources that fetch records in batches sized by the downstream demand.
+     */
+    private static final List<String> BATCHING_SOURCE_PACKAGES = Arrays.asList(
+            "reactor.kafka.",
+            "io.r2dbc.",
+            "org.springframework.r2dbc.",
+            "org.springframework.data.r2dbc.",
+            "org.springframework.data.repository.reactive.");
+
+    @Option(displayName = "Additional batching source packages",
+            description = "Packages of further sources whose throughput depends on large upstream requests, " +
+                          "in addition to Reactor Kafka and R2DBC.",
+            example = "com.example.messaging",
+            required = false)
+    @Nullable
+    List<String> additionalSourcePackages;
+
+    transient TakeDemandDecisions takeDemandDecisions = new TakeDemandDecisions(this);
+
+    @Override
+    public String getDisplayName() {
+        return "Keep the Reactor 3.4 upstream demand of `take(n)`";
+    }
+
+    @Override
+    public String getDescription() {
+        return "In Reactor 3.5 `Flux.take(n)` caps the upstream demand at `n`, where in 3.4 it requested an unbounded amount. " +
+               "Rewrites `take(n)` to `take(n, false)` when the `Flux` comes from a Kafka or R2DBC source, which fetch records " +
+               "in batches sized by the demand, and records the decision for every `take(n)` call in a data table. " +
+               "This recipe is not part of `UpgradeReactor_3_5`: run it once, on code that is still built against Reactor 3.4, " +
+               "before `limitRequest(n)` is renamed to `take(n)`, since those calls already capped the demand. " +
+               "Calls on a `Flux` that declares the 3.5 `tap(..)` operator are left unchanged.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        List<String> packages = new ArrayList<>(BATCHING_SOURCE_PACKAGES);
+        if (additionalSourcePackages != null) {
+            for (String p : additionalSourcePackages) {
+                packages.add(p.endsWith(".") ? p : p + ".");
+            }
+        }
+        return Preconditions.check(new UsesMethod<>(TAKE), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                if (!TAKE.matches(mi) || mi.getSelect() == null) {
+                    return mi;
+                }
+                JavaType.FullyQualified source = upstreamSource(mi.getSelect());
+                boolean reactor34 = isReactor34(mi);
+                boolean batching = reactor34 && source != null && isBatching(source, packages);
+                takeDemandDecisions.insertRow(ctx, new TakeDemandDecisions.Row(
+                        getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString(),
+                        mi.printTrimmed(getCursor().getParentTreeCursor()),
+                        source == null ? "" : source.getFullyQualifiedName(),
+                        batching ? "Rewritten to `take(n, false)`: the source fetches records in batches sized by the demand" :
+                                !reactor34 ? "Unchanged: the code is not known to be built against Reactor 3.4" :
+                                        source == null ? "Unchanged: the upstream source is not known" :
+                                                "Unchanged: the source does not batch by demand"));
+                if (!batching) {
+                    return mi;
+                }
+                return JavaTemplate.builder("#{any(reactor.core.publisher.Flux)}.take(#{any(long)}, false)")
+                        .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "reactor-core-3.4", "reactive-streams"))
+                        .build()
+                        .apply(getCursor(), mi.getCoordinates().replace(), mi.getSelect(), mi.getArguments().get(0));
+            }
+        });
+    }
+
+    /**
+     * A {@code take(n)} written against 3.5 or later already meant to cap the demand, such as one renamed from
+     * {@code limitRequest(n)} by an earlier run, so only a {@code Flux} without the {@code tap(..)} operator added in 3.5
+     * proves 3.4 code.
+     */
+    private static boolean isReactor34(J.MethodInvocation take) {
+        JavaType.Method methodType = take.getMethodType();
+        if (methodType == null || methodType.getDeclaringType().getMethods().isEmpty()) {
+            return false;
+        }
+        for (JavaType.Method method : methodType.getDeclaringType().getMethods()) {
+            if ("tap".equals(method.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Walks the operator chain upstream to the call or variable producing the first publisher.
+     *
+     * @return the type declaring that source, or {@code null} if it is not known.
+     */
+    private static JavaType.@Nullable FullyQualified upstreamSource(Expression select) {
+        Expression current = select;
+        while (current instanceof J.MethodInvocation) {
+            J.MethodInvocation call = (J.MethodInvocation) current;
+            JavaType.Method methodType = call.getMethodType();
+            if (methodType == null) {
+                return null;
+            }
+            JavaType.FullyQualified declaringType = methodType.getDeclaringType();
+            if (!declaringType.getFullyQualifiedName().startsWith("reactor.core.publisher.")) {
+                return declaringType;
+            }
+            if (call.getSelect() == null || methodType.hasFlags(Flag.Static)) {
+                // A factory such as `Flux.fromIterable(..)` or `Flux.defer(..)` starts the chain
+                return declaringType;
+            }
+            current = call.getSelect();
+        }
+        JavaType.FullyQualified type = TypeUtils.asFullyQualified(current.getType());
+        return type == null || type.getFullyQualifiedName().startsWith("reactor.core.publisher.") ? null : type;
+    }
+
+    /**
+     * Repositories and clients are usually declared by the application, extending the interfaces of the library.
+     */
+    private static boolean isBatching(JavaType.@Nullable FullyQualified type, List<String> packages) {
+        if (type == null) {
+            return false;
+        }
+        String fqn = type.getFullyQualifiedName();
+        if (packages.stream().anyMatch(fqn::startsWith)) {
+            return true;
+        }
+        if ("java.lang.Object".equals(fqn)) {
+            return false;
+        }
+        if (isBatching(type.getSupertype(), packages)) {
+            return true;
+        }
+        for (JavaType.FullyQualified i : type.getInterfaces()) {
+            if (isBatching(i, packages)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
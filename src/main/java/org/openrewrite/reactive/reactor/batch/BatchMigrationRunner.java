@@ -0,0 +1,270 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor.batch;
+
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs a recipe over the Java sources of a repository in fixed-size batches on a fork-join pool, instead of
+ * parsing every source file into memory first as the build plugins do. Each batch is parsed, rewritten and written
+ * back to disk before its LSTs are dropped, so the heap only ever holds the batches that are in flight.
+ * <p>
+ * Batches are parsed independently, so types declared in other batches are only known when the compiled classes
+ * of the repository are on the parser's classpath. Recipes that need to see all source files at once, such as
+ * dependency upgrades of the build files, should still be run through the build plugins.
+ */
+public class BatchMigrationRunner {
+
+    public static final String DEFAULT_RECIPE = "org.openrewrite.reactive.reactor.MigrateReactorApis_3_5";
+
+    private static final Set<String> EXCLUDED_DIRECTORIES = new HashSet<>(Arrays.asList(
+            ".git", ".gradle", ".idea", "build", "target", "node_modules"));
+
+    private final Recipe recipe;
+    private final JavaParser.Builder<?, ?> parser;
+    private final int parallelism;
+    private final long memoryCeiling;
+    private final int maxBatchSize;
+    private final AtomicInteger batchSize;
+
+    /**
+     * @param recipe        The recipe to run on each batch.
+     * @param parser        The parser to type attribute the sources with. A new parser is built for each batch.
+     * @param batchSize     The number of source files parsed and rewritten together.
+     * @param parallelism   The number of batches processed at the same time.
+     * @param memoryCeiling The used heap, in bytes, above which no further batch is started until an in-flight
+     *                      batch completes, and the batch size is halved. Once the used heap is back below half of
+     *                      the ceiling, the batch size is doubled again, up to the given batch size.
+     */
+    public BatchMigrationRunner(Recipe recipe, JavaParser.Builder<?, ?> parser, int batchSize, int parallelism, long memoryCeiling) {
+        if (batchSize < 1 || parallelism < 1 || memoryCeiling < 1) {
+            throw new IllegalArgumentException("The batch size, parallelism and memory ceiling must be positive");
+        }
+        this.recipe = recipe;
+        this.parser = parser;
+        this.parallelism = parallelism;
+        this.memoryCeiling = memoryCeiling;
+        this.maxBatchSize = batchSize;
+        this.batchSize = new AtomicInteger(batchSize);
+    }
+
+    /**
+     * Rewrites the given source files in place.
+     *
+     * @param baseDir The directory the source paths are relative to.
+     * @param sources The Java source files to migrate.
+     * @return Counts of the files and batches processed.
+     */
+    public Summary run(Path baseDir, List<Path> sources) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Semaphore slots = new Semaphore(parallelism);
+        List<Future<?>> batches = new ArrayList<>();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        AtomicInteger changed = new AtomicInteger();
+        try {
+            int next = 0;
+            while (next < sources.size()) {
+                slots.acquire();
+                long used = usedMemory();
+                if (used > memoryCeiling) {
+                    // Let the in-flight batches drain before starting a smaller one on a full heap
+                    batchSize.updateAndGet(size -> Math.max(1, size / 2));
+                    while (usedMemory() > memoryCeiling && slots.availablePermits() < parallelism - 1) {
+                        Thread.sleep(50);
+                    }
+                } else if (used < memoryCeiling / 2) {
+                    // Well clear of the ceiling, so a single large source file no longer shrinks the rest of the run
+                    batchSize.updateAndGet(size -> Math.min(maxBatchSize, size * 2));
+                }
+                List<Path> batch = sources.subList(next, Math.min(sources.size(), next + batchSize.get()));
+                next += batch.size();
+                batches.add(pool.submit(() -> {
+                    try {
+                        changed.addAndGet(migrate(baseDir, batch, errors));
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+            for (Future<?> batch : batches) {
+                try {
+                    batch.get();
+                } catch (ExecutionException e) {
+                    errors.add(e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return new Summary(sources.size(), changed.get(), batches.size(), errors);
+    }
+
+    private int migrate(Path baseDir, List<Path> batch, List<Throwable> errors) {
+        ExecutionContext ctx = new InMemoryExecutionContext(errors::add);
+        // `JavaParser` instances are not thread-safe, so each batch gets its own
+        JavaParser javaParser;
+        synchronized (parser) {
+            javaParser = parser.build();
+        }
+        List<SourceFile> sourceFiles = javaParser.parse(batch, baseDir, ctx)
+                .collect(Collectors.toList());
+        int changed = 0;
+        for (Result result : recipe.run(new InMemoryLargeSourceSet(sourceFiles), ctx).getChangeset().getAllResults()) {
+            try {
+                if (result.getBefore() != null && (result.getAfter() == null ||
+                                                   !result.getBefore().getSourcePath().equals(result.getAfter().getSourcePath()))) {
+                    Files.delete(baseDir.resolve(result.getBefore().getSourcePath()));
+                }
+                SourceFile after = result.getAfter();
+                if (after != null) {
+                    Charset charset = after.getCharset() == null ? StandardCharsets.UTF_8 : after.getCharset();
+                    Path path = baseDir.resolve(after.getSourcePath());
+                    Files.createDirectories(path.getParent());
+                    Files.write(path, after.printAll().getBytes(charset));
+                }
+                changed++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return changed;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * @return the Java source files below the base directory, skipping VCS, IDE and build output directories.
+     */
+    public static List<Path> findJavaSources(Path baseDir) throws IOException {
+        try (Stream<Path> files = Files.walk(baseDir)) {
+            return files
+                    .filter(file -> file.toString().endsWith(".java") && Files.isRegularFile(file))
+                    .filter(file -> {
+                        for (Path segment : baseDir.relativize(file)) {
+                            if (EXCLUDED_DIRECTORIES.contains(segment.toString())) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Parses a size such as {@code 512m} or {@code 4g} into bytes.
+     */
+    static long parseBytes(String size) {
+        String s = size.trim().toLowerCase(Locale.ROOT);
+        long multiplier = 1;
+        switch (s.isEmpty() ? ' ' : s.charAt(s.length() - 1)) {
+            case 'k':
+                multiplier = 1024L;
+                break;
+            case 'm':
+                multiplier = 1024L * 1024;
+                break;
+            case 'g':
+                multiplier = 1024L * 1024 * 1024;
+                break;
+            default:
+                return Long.parseLong(s);
+        }
+        return Long.parseLong(s.substring(0, s.length() - 1)) * multiplier;
+    }
+
+    /**
+     * Usage: {@code BatchMigrationRunner [--recipe name] [--batch-size n] [--parallelism n] [--max-memory 4g]
+     * [--classpath path:path] baseDir}
+     * <p>
+     * Without {@code --classpath}, the sources are parsed against Reactor 3.4, which still declares the APIs that the
+     * default recipe migrates away from.
+     */
+    public static void main(String[] args) throws Exception {
+        String recipeName = DEFAULT_RECIPE;
+        int batchSize = 500;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long memoryCeiling = Runtime.getRuntime().maxMemory() / 4 * 3;
+        JavaParser.Builder<?, ?> parser = JavaParser.fromJavaVersion()
+                .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams");
+        Path baseDir = Paths.get(".");
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--recipe":
+                    recipeName = args[++i];
+                    break;
+                case "--batch-size":
+                    batchSize = Integer.parseInt(args[++i]);
+                    break;
+                case "--parallelism":
+                    parallelism = Integer.parseInt(args[++i]);
+                    break;
+                case "--max-memory":
+                    memoryCeiling = parseBytes(args[++i]);
+                    break;
+                case "--classpath":
+                    parser = JavaParser.fromJavaVersion().classpath(Arrays.stream(args[++i].split(java.io.File.pathSeparator))
+                            .map(Paths::get)
+                            .collect(Collectors.toList()));
+                    break;
+                default:
+                    baseDir = Paths.get(args[i]);
+            }
+        }
+
+        Recipe recipe = Environment.builder().scanRuntimeClasspath().build().activateRecipes(recipeName);
+        Path root = baseDir.toAbsolutePath().normalize();
+        Summary summary = new BatchMigrationRunner(recipe, parser, batchSize, parallelism, memoryCeiling)
+                .run(root, findJavaSources(root));
+        System.out.printf("Changed %d of %d source files in %d batches%n",
+                summary.getFilesChanged(), summary.getFilesParsed(), summary.getBatches());
+        for (Throwable error : summary.getErrors()) {
+            System.err.println(error);
+        }
+        if (!summary.getErrors().isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    @Value
+    public static class Summary {
+        int filesParsed;
+        int filesChanged;
+        int batches;
+        List<Throwable> errors;
+    }
+}
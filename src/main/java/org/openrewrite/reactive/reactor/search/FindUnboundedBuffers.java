@@ -0,0 +1,184 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor.search;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.Flag;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.marker.SearchResult;
+import org.openrewrite.reactive.reactor.table.UnboundedBuffers;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class FindUnboundedBuffers extends Recipe {
+
+    private static final String FINITE = "finite";
+    private static final String INFINITE = "infinite";
+    private static final String UNKNOWN = "unknown";
+
+    private static final String MONO = "reactor.core.publisher.Mono";
+
+    private static final List<MethodMatcher> UNBOUNDED = Arrays.asList(
+            new MethodMatcher("reactor.core.publisher.Flux onBackpressureBuffer()"),
+            new MethodMatcher("reactor.core.publisher.Flux cache()"),
+            new MethodMatcher("reactor.core.publisher.Mono cache()"),
+            new MethodMatcher("reactor.core.publisher.ReplayProcessor create()"),
+            new MethodMatcher("reactor.core.publisher.UnicastProcessor create()"),
+            new MethodMatcher("reactor.util.concurrent.Queues unbounded(..)"));
+    private static final MethodMatcher COLLECT_LIST = new MethodMatcher("reactor.core.publisher.Flux collectList()");
+    private static final List<MethodMatcher> SINK_FACTORIES = Arrays.asList(
+            new MethodMatcher("reactor.core.publisher.Flux create(java.util.function.Consumer, ..)"),
+            new MethodMatcher("reactor.core.publisher.Flux push(java.util.function.Consumer, ..)"));
+
+    private static final Set<String> FINITE_FACTORIES = new HashSet<>(Arrays.asList(
+            "just", "fromArray", "fromIterable", "fromStream", "range", "empty", "error"));
+    private static final Set<String> INFINITE_FACTORIES = new HashSet<>(Arrays.asList(
+            "interval", "never", "generate"));
+    private static final Set<String> LIMITING_OPERATORS = new HashSet<>(Arrays.asList(
+            "take", "takeUntilOther", "next", "elementAt", "limitRequest"));
+
+    transient UnboundedBuffers unboundedBuffers = new UnboundedBuffers(this);
+
+    @Override
+    public String getDisplayName() {
+        return "Find unbounded buffers";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Finds Reactor operators and queues that can retain an unbounded number of elements, such as " +
+               "`onBackpressureBuffer()`, `Sinks.many().replay().all()`, `Sinks.many().unicast().onBackpressureBuffer()`, " +
+               "`Queues.unbounded()`, `Flux.create(..)` and `Flux.push(..)` with the default `OverflowStrategy.BUFFER`, " +
+               "`cache()` without a TTL and `collectList()` on an infinite source. " +
+               "The upstream source of each buffer is classified as finite, infinite or unknown, to help rank the memory risk.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(Preconditions.or(
+                new UsesType<>("reactor.core..*", false),
+                new UsesType<>("reactor.util.concurrent.Queues", false)
+        ), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
+                if (!isUnbounded(mi)) {
+                    return mi;
+                }
+                JavaType.Method methodType = mi.getMethodType();
+                String sourceType = sourceType(methodType != null && methodType.hasFlags(Flag.Static) ? mi : mi.getSelect());
+                if (COLLECT_LIST.matches(mi) && !INFINITE.equals(sourceType)) {
+                    return mi;
+                }
+                J.ClassDeclaration classDeclaration = getCursor().firstEnclosing(J.ClassDeclaration.class);
+                J.MethodDeclaration methodDeclaration = getCursor().firstEnclosing(J.MethodDeclaration.class);
+                String enclosing = (classDeclaration == null ? "" : classDeclaration.getSimpleName()) +
+                                   (methodDeclaration == null ? "" : "#" + methodDeclaration.getSimpleName());
+                unboundedBuffers.insertRow(ctx, new UnboundedBuffers.Row(
+                        getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString(),
+                        enclosing,
+                        methodType == null ? mi.getSimpleName() : methodType.getDeclaringType().getClassName() + "#" + methodType.getName(),
+                        sourceType));
+                return SearchResult.found(mi, sourceType + " source");
+            }
+        });
+    }
+
+    private static boolean isUnbounded(J.MethodInvocation mi) {
+        for (MethodMatcher unbounded : UNBOUNDED) {
+            if (unbounded.matches(mi)) {
+                return true;
+            }
+        }
+        if (COLLECT_LIST.matches(mi)) {
+            return true;
+        }
+        for (MethodMatcher sinkFactory : SINK_FACTORIES) {
+            if (sinkFactory.matches(mi)) {
+                // Without an overflow strategy, the sink buffers all elements that were not requested yet
+                return mi.getArguments().size() == 1 || isBufferStrategy(mi.getArguments().get(1));
+            }
+        }
+        // The spec types are nested in `Sinks`, so compare their declaring types with `TypeUtils`
+        JavaType.Method methodType = mi.getMethodType();
+        if (methodType == null) {
+            return false;
+        }
+        return "all".equals(methodType.getName()) &&
+               TypeUtils.isOfClassType(methodType.getDeclaringType(), "reactor.core.publisher.Sinks.MulticastReplaySpec") ||
+               "onBackpressureBuffer".equals(methodType.getName()) && mi.getArguments().stream().allMatch(J.Empty.class::isInstance) &&
+               TypeUtils.isOfClassType(methodType.getDeclaringType(), "reactor.core.publisher.Sinks.UnicastSpec");
+    }
+
+    private static boolean isBufferStrategy(Expression overflowStrategy) {
+        JavaType.Variable constant = overflowStrategy instanceof J.FieldAccess ?
+                ((J.FieldAccess) overflowStrategy).getName().getFieldType() :
+                overflowStrategy instanceof J.Identifier ? ((J.Identifier) overflowStrategy).getFieldType() : null;
+        return constant != null && "BUFFER".equals(constant.getName()) &&
+               TypeUtils.isOfClassType(constant.getOwner(), "reactor.core.publisher.FluxSink.OverflowStrategy");
+    }
+
+    /**
+     * Walks the operator chain upstream, to infer whether the source emits a bounded number of elements.
+     */
+    private static String sourceType(@Nullable Expression select) {
+        boolean limited = false;
+        Expression current = select;
+        while (current instanceof J.MethodInvocation) {
+            J.MethodInvocation call = (J.MethodInvocation) current;
+            JavaType.Method methodType = call.getMethodType();
+            if (methodType == null) {
+                return UNKNOWN;
+            }
+            if (TypeUtils.isOfClassType(call.getType(), MONO)) {
+                return FINITE;
+            }
+            String declaringType = methodType.getDeclaringType().getFullyQualifiedName();
+            if (LIMITING_OPERATORS.contains(methodType.getName())) {
+                limited = true;
+            } else if ("repeat".equals(methodType.getName()) && call.getArguments().stream().allMatch(J.Empty.class::isInstance)) {
+                return limited ? FINITE : INFINITE;
+            }
+            if (call.getSelect() == null || call.getSelect() instanceof J.Identifier && ((J.Identifier) call.getSelect()).getFieldType() == null) {
+                if (limited) {
+                    return FINITE;
+                }
+                if ("reactor.core.publisher.Flux".equals(declaringType)) {
+                    if (FINITE_FACTORIES.contains(methodType.getName())) {
+                        return FINITE;
+                    } else if (INFINITE_FACTORIES.contains(methodType.getName())) {
+                        return INFINITE;
+                    }
+                    return UNKNOWN;
+                }
+                // Sinks and processors are hot sources, without a completion signal of their own
+                return declaringType.startsWith("reactor.core.publisher.Sinks") || declaringType.endsWith("Processor") ? INFINITE : UNKNOWN;
+            }
+            current = call.getSelect();
+        }
+        return limited || current != null && TypeUtils.isOfClassType(current.getType(), MONO) ? FINITE : UNKNOWN;
+    }
+}
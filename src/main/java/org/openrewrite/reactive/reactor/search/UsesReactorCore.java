@@ -0,0 +1,43 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor.search;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.search.UsesType;
+
+/**
+ * Marks source files that reference any type in {@code reactor.core}.
+ * Used as a precondition, so that sources without Reactor are rejected after a single scan of their type table.
+ */
+public class UsesReactorCore extends Recipe {
+
+    @Override
+    public String getDisplayName() {
+        return "Find sources using Reactor Core";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Marks source files that reference any type in the `reactor.core` package or its subpackages.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new UsesType<>("reactor.core..*", false);
+    }
+}
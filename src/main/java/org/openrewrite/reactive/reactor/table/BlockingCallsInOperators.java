@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class BlockingCallsInOperators extends DataTable<BlockingCallsInOperators.Row> {
+
+    public BlockingCallsInOperators(Recipe recipe) {
+        super(recipe,
+                "Blocking calls in reactive operators",
+                "Blocking calls inside operator lambdas that could not be moved onto `Schedulers.boundedElastic()` automatically.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path to the source file containing the blocking call.")
+        String sourcePath;
+
+        @Column(displayName = "Operator",
+                description = "The reactive operator whose lambda contains the blocking call.")
+        String operator;
+
+        @Column(displayName = "Blocking call",
+                description = "The type and name of the blocking method.")
+        String blockingCall;
+
+        @Column(displayName = "Reason",
+                description = "Why the blocking call was not rewritten.")
+        String reason;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class BoundedElasticSchedulers extends DataTable<BoundedElasticSchedulers.Row> {
+
+    public BoundedElasticSchedulers(Recipe recipe) {
+        super(recipe,
+                "Bounded elastic schedulers",
+                "Dedicated bounded elastic schedulers, and the configuration added to run the default one on virtual threads.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path to the source file creating the scheduler.")
+        String sourcePath;
+
+        @Column(displayName = "Scheduler call",
+                description = "The source code of the `Schedulers.newBoundedElastic(..)` call, or of the added configuration.")
+        String schedulerCall;
+
+        @Column(displayName = "Decision",
+                description = "Why the scheduler was left unchanged, or where the configuration was added.")
+        String decision;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class BoundedReplaySinks extends DataTable<BoundedReplaySinks.Row> {
+
+    public BoundedReplaySinks(Recipe recipe) {
+        super(recipe,
+                "Bounded replay sinks",
+                "Unbounded replay processors that were migrated to a replay sink with a limited history.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path to the source file containing the processor.")
+        String sourcePath;
+
+        @Column(displayName = "Processor call",
+                description = "The source code of the unbounded processor factory call.")
+        String processorCall;
+
+        @Column(displayName = "Sink spec",
+                description = "The bounded replay sink that replaced the processor.")
+        String sinkSpec;
+    }
+}
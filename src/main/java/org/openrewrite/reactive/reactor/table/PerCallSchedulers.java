@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class PerCallSchedulers extends DataTable<PerCallSchedulers.Row> {
+
+    public PerCallSchedulers(Recipe recipe) {
+        super(recipe,
+                "Per-call schedulers",
+                "Schedulers created on every method call that could not be moved into a shared static field automatically.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path to the source file containing the scheduler.")
+        String sourcePath;
+
+        @Column(displayName = "Method",
+                description = "The enclosing class and method creating the scheduler.")
+        String method;
+
+        @Column(displayName = "Scheduler call",
+                description = "The source code of the scheduler factory call.")
+        String schedulerCall;
+
+        @Column(displayName = "Reason",
+                description = "Why the scheduler was not moved into a static field.")
+        String reason;
+    }
+}
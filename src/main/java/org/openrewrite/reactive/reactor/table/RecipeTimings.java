@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class RecipeTimings extends DataTable<RecipeTimings.Row> {
+
+    public RecipeTimings(Recipe recipe) {
+        super(recipe,
+                "Recipe timings",
+                "The work done and the time spent by each instrumented recipe on each source file.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Recipe",
+                description = "The name of the instrumented recipe.")
+        String recipe;
+
+        @Column(displayName = "Source path",
+                description = "The path to the source file the recipe visited.")
+        String sourcePath;
+
+        @Column(displayName = "Elements visited",
+                description = "The number of LST elements in the source file when the recipe visited it.")
+        long elementsVisited;
+
+        @Column(displayName = "Candidate invocations",
+                description = "The number of method invocations and method references in the source file when the recipe's " +
+                              "precondition accepted it, or zero when the precondition skipped the file.")
+        long candidateInvocations;
+
+        @Column(displayName = "Matches",
+                description = "The number of method invocations and method references the recipe added, replaced, renamed or removed.")
+        long matches;
+
+        @Column(displayName = "Duration (ns)",
+                description = "The wall-clock time the recipe's visitor spent on the source file, in nanoseconds.")
+        long durationNanos;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class TakeDemandDecisions extends DataTable<TakeDemandDecisions.Row> {
+
+    public TakeDemandDecisions(Recipe recipe) {
+        super(recipe,
+                "`take(n)` demand decisions",
+                "`Flux.take(n)` calls written against Reactor 3.4, and whether they keep requesting an unbounded amount from upstream.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path to the source file containing the `take(n)` call.")
+        String sourcePath;
+
+        @Column(displayName = "Take call",
+                description = "The source code of the `take(n)` call.")
+        String takeCall;
+
+        @Column(displayName = "Upstream source",
+                description = "The type declaring the upstream source of the `Flux`, if it could be determined.")
+        String upstreamSource;
+
+        @Column(displayName = "Decision",
+                description = "Whether the call was rewritten to `take(n, false)`, and why.")
+        String decision;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class UnboundedBuffers extends DataTable<UnboundedBuffers.Row> {
+
+    public UnboundedBuffers(Recipe recipe) {
+        super(recipe,
+                "Unbounded buffers",
+                "Reactor operators and queues that can retain an unbounded number of elements in memory.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path to the source file containing the buffer.")
+        String sourcePath;
+
+        @Column(displayName = "Method",
+                description = "The enclosing class and method of the buffer.")
+        String method;
+
+        @Column(displayName = "Operator",
+                description = "The type and name of the operator or factory method creating the buffer.")
+        String operator;
+
+        @Column(displayName = "Source type",
+                description = "Whether the upstream source is inferred to be `finite`, `infinite` or `unknown`.")
+        String sourceType;
+    }
+}
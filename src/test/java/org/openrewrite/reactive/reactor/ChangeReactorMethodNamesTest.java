@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class ChangeReactorMethodNamesTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          .recipe(new ChangeReactorMethodNames(List.of(
+            "reactor.core.scheduler.Schedulers elastic() -> boundedElastic",
+            "reactor.core.publisher.Flux limitRequest(..) -> take",
+            "reactor.core.publisher.Flux publishNext() -> shareNext"
+          )));
+    }
+
+    @Test
+    @DocumentExample
+    void renameInvocationsInSinglePass() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+              import reactor.core.scheduler.Schedulers;
+
+              class TestClass {
+                  Mono<String> rename(Flux<String> flux) {
+                      return flux.limitRequest(10).subscribeOn(Schedulers.elastic()).publishNext();
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+              import reactor.core.scheduler.Schedulers;
+
+              class TestClass {
+                  Mono<String> rename(Flux<String> flux) {
+                      return flux.take(10).subscribeOn(Schedulers.boundedElastic()).shareNext();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void renameMemberReferences() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.util.function.Supplier;
+              import reactor.core.scheduler.Scheduler;
+              import reactor.core.scheduler.Schedulers;
+
+              class TestClass {
+                  Supplier<Scheduler> scheduler() {
+                      return Schedulers::elastic;
+                  }
+              }
+              """,
+            """
+              import java.util.function.Supplier;
+              import reactor.core.scheduler.Scheduler;
+              import reactor.core.scheduler.Schedulers;
+
+              class TestClass {
+                  Supplier<Scheduler> scheduler() {
+                      return Schedulers::boundedElastic;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void sameNameOnOtherTypeIsUnchanged() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class TestClass {
+                  static Object elastic() {
+                      return null;
+                  }
+
+                  void use() {
+                      elastic();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void malformedRenamesAreInvalid() {
+        assertThat(new ChangeReactorMethodNames(List.of("reactor.core.scheduler.Schedulers elastic -> boundedElastic"))
+          .validate().isInvalid()).isTrue();
+        assertThat(new ChangeReactorMethodNames(List.of("elastic() -> boundedElastic")).validate().isInvalid()).isTrue();
+        assertThat(new ChangeReactorMethodNames(List.of("reactor.core.scheduler.Schedulers elastic() -> bounded elastic"))
+          .validate().isInvalid()).isTrue();
+        assertThat(new ChangeReactorMethodNames(List.of("reactor.core.scheduler.Schedulers elastic() -> boundedElastic"))
+          .validate().isValid()).isTrue();
+    }
+}
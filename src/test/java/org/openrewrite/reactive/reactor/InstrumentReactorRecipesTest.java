@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.reactive.reactor.table.RecipeTimings;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class InstrumentReactorRecipesTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          .recipe(new InstrumentReactorRecipes("org.openrewrite.reactive.reactor.MigrateReactorApis_3_5", null));
+    }
+
+    @Test
+    @DocumentExample
+    void recordsTimingsPerRecipe() {
+        rewriteRun(
+          spec -> spec.dataTable(RecipeTimings.Row.class, rows -> {
+              assertThat(rows)
+                .filteredOn(row -> "org.openrewrite.reactive.reactor.ChangeReactorMethodNames".equals(row.getRecipe()))
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getSourcePath()).isEqualTo("TestClass.java");
+                    assertThat(row.getCandidateInvocations()).isEqualTo(3);
+                    assertThat(row.getMatches()).isEqualTo(1);
+                    assertThat(row.getElementsVisited()).isPositive();
+                });
+              assertThat(rows)
+                .filteredOn(row -> "org.openrewrite.reactive.reactor.ReactorProcessorToSink".equals(row.getRecipe()))
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getCandidateInvocations()).isZero();
+                    assertThat(row.getMatches()).isZero();
+                });
+          }),
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+
+              class TestClass {
+                  Flux<String> first(Flux<String> flux) {
+                      return flux.limitRequest(1).map(String::trim);
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Flux;
+
+              class TestClass {
+                  Flux<String> first(Flux<String> flux) {
+                      return flux.take(1).map(String::trim);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void candidatesFollowThePreconditionOfEachRecipe() {
+        rewriteRun(
+          spec -> spec.dataTable(RecipeTimings.Row.class, rows -> {
+              assertThat(rows)
+                .filteredOn(row -> "org.openrewrite.reactive.reactor.ChangeReactorMethodNames".equals(row.getRecipe()))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getCandidateInvocations()).isEqualTo(2));
+              assertThat(rows)
+                .filteredOn(row -> "org.openrewrite.reactive.reactor.ReactorProcessorToSink".equals(row.getRecipe()))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getCandidateInvocations()).isZero());
+          }),
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  Mono<String> trimmed(String value) {
+                      return Mono.just(value).map(String::trim);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void unknownRecipeIsInvalid() {
+        assertThat(new InstrumentReactorRecipes("org.openrewrite.reactive.reactor.DoesNotExist", null).validate().isInvalid()).isTrue();
+    }
+}
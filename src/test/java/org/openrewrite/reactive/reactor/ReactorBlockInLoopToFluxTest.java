@@ -0,0 +1,164 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.reactive.reactor.table.BlockingCallsInLoops;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorBlockInLoopToFluxTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          .recipe(new ReactorBlockInLoopToFlux(null));
+    }
+
+    @Test
+    @DocumentExample
+    void forEachLoop() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.util.ArrayList;
+              import java.util.List;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  interface Client {
+                      Mono<String> fetch(String id);
+                  }
+
+                  List<String> fetchAll(Client client, List<String> ids) {
+                      List<String> results = new ArrayList<>();
+                      for (String id : ids) {
+                          results.add(client.fetch(id).block());
+                      }
+                      return results;
+                  }
+              }
+              """,
+            """
+              import java.util.ArrayList;
+              import java.util.List;
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  interface Client {
+                      Mono<String> fetch(String id);
+                  }
+
+                  List<String> fetchAll(Client client, List<String> ids) {
+                      List<String> results = new ArrayList<>();
+                      results.addAll(Flux.fromIterable(ids).flatMapSequential(id -> client.fetch(id), 8).collectList().block());
+                      return results;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void iterableForEachWithConcurrency() {
+        rewriteRun(
+          spec -> spec.recipe(new ReactorBlockInLoopToFlux(32)),
+          //language=java
+          java(
+            """
+              import java.util.Set;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  interface Client {
+                      Mono<String> fetch(String id);
+                  }
+
+                  void fetchAll(Client client, Set<String> ids, Set<String> results) {
+                      ids.forEach(id -> results.add(client.fetch(id).block()));
+                  }
+              }
+              """,
+            """
+              import java.util.Set;
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  interface Client {
+                      Mono<String> fetch(String id);
+                  }
+
+                  void fetchAll(Client client, Set<String> ids, Set<String> results) {
+                      results.addAll(Flux.fromIterable(ids).flatMapSequential(id -> client.fetch(id), 32).collectList().block());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void reportLoopsThatDoNotFit() {
+        rewriteRun(
+          spec -> spec.dataTable(BlockingCallsInLoops.Row.class, rows -> {
+              assertThat(rows).hasSize(3);
+              assertThat(rows.get(0).getReason()).isEqualTo("The loop body does more than add the result of `block()` to a collection");
+              assertThat(rows.get(1).getReason()).isEqualTo("Only for-each loops and `Iterable.forEach(..)` are rewritten");
+              assertThat(rows.get(2).getReason()).isEqualTo("The `Mono` refers to local variables that are not effectively final");
+          }),
+          //language=java
+          java(
+            """
+              import java.util.List;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  interface Client {
+                      Mono<String> fetch(String id);
+                  }
+
+                  void fetchAll(Client client, List<String> ids, List<String> results) {
+                      for (String id : ids) {
+                          String value = client.fetch(id).block();
+                          results.add(value.trim());
+                      }
+                      for (int i = 0; i < ids.size(); i++) {
+                          results.add(client.fetch(ids.get(i)).block());
+                      }
+                      for (int attempt = 0; attempt < 3; attempt++) {
+                          for (String id : ids) {
+                              results.add(client.fetch(id + attempt).block());
+                          }
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+}
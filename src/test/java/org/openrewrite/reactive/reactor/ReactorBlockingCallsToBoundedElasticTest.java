@@ -0,0 +1,172 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.reactive.reactor.table.BlockingCallsInOperators;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorBlockingCallsToBoundedElasticTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          .recipe(new ReactorBlockingCallsToBoundedElastic());
+    }
+
+    @Test
+    @DocumentExample
+    void blockingMapOnFlux() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  Flux<String> load(Flux<String> ids, Mono<String> prefix) {
+                      return ids.map(id -> prefix.block() + id);
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+              import reactor.core.scheduler.Schedulers;
+
+              class TestClass {
+                  Flux<String> load(Flux<String> ids, Mono<String> prefix) {
+                      return ids.concatMap(id -> Mono.fromCallable(() -> prefix.block() + id).subscribeOn(Schedulers.boundedElastic()));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void blockingMapOnMono() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  Mono<String> load(Mono<String> id, Mono<String> prefix) {
+                      return id.map(i -> prefix.block() + i);
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Mono;
+              import reactor.core.scheduler.Schedulers;
+
+              class TestClass {
+                  Mono<String> load(Mono<String> id, Mono<String> prefix) {
+                      return id.flatMap(i -> Mono.fromCallable(() -> prefix.block() + i).subscribeOn(Schedulers.boundedElastic()));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void nullableResultStillFails() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  Flux<String> load(Flux<Mono<String>> lookups) {
+                      return lookups.map(lookup -> lookup.block());
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+              import reactor.core.scheduler.Schedulers;
+
+              import java.util.Objects;
+
+              class TestClass {
+                  Flux<String> load(Flux<Mono<String>> lookups) {
+                      return lookups.concatMap(lookup -> Mono.fromCallable(() -> Objects.requireNonNull(lookup.block(), "The mapper returned a null value.")).subscribeOn(Schedulers.boundedElastic()));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void reportBlockingCallInDoOnNext() {
+        rewriteRun(
+          spec -> spec.dataTable(BlockingCallsInOperators.Row.class, rows -> {
+              assertThat(rows).hasSize(1);
+              assertThat(rows.get(0).getOperator()).isEqualTo("doOnNext");
+              assertThat(rows.get(0).getBlockingCall()).isEqualTo("Mono#block");
+          }),
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  Flux<String> load(Flux<String> ids, Mono<String> audit) {
+                      return ids.doOnNext(id -> audit.block());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void deferredBlockingCallIsUnchanged() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  Flux<Mono<String>> load(Flux<String> ids, Mono<String> prefix) {
+                      return ids.map(id -> Mono.fromCallable(() -> prefix.block() + id));
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.reactive.reactor.table.BoundedElasticSchedulers;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.java.Assertions.version;
+
+class ReactorBoundedElasticOnVirtualThreadsTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          .recipe(new ReactorBoundedElasticOnVirtualThreads());
+    }
+
+    @Test
+    @DocumentExample
+    void setPropertyInMain() {
+        rewriteRun(
+          version(
+            //language=java
+            java(
+              """
+                class Application {
+                    public static void main(String[] args) {
+                        new Application().run();
+                    }
+
+                    void run() {
+                    }
+                }
+                """,
+              """
+                class Application {
+                    public static void main(String[] args) {
+                        System.setProperty("reactor.schedulers.defaultBoundedElasticOnVirtualThreads", "true");
+                        new Application().run();
+                    }
+
+                    void run() {
+                    }
+                }
+                """
+            ),
+            21
+          ),
+          version(
+            //language=java
+            java(
+              """
+                import reactor.core.publisher.Mono;
+                import reactor.core.scheduler.Schedulers;
+
+                class Repository {
+                    Mono<String> load(String id) {
+                        return Mono.fromCallable(() -> id.trim()).subscribeOn(Schedulers.boundedElastic());
+                    }
+                }
+                """
+            ),
+            21
+          )
+        );
+    }
+
+    @Test
+    void dedicatedSchedulersAreReported() {
+        rewriteRun(
+          spec -> spec.dataTable(BoundedElasticSchedulers.Row.class, rows -> {
+              assertThat(rows).hasSize(3);
+              assertThat(rows.get(0).getDecision()).startsWith("Unchanged: the dedicated scheduler uses the default caps");
+              assertThat(rows.get(1).getSchedulerCall()).isEqualTo("Schedulers.newBoundedElastic(100, 10_000, \"io\")");
+              assertThat(rows.get(1).getDecision()).isEqualTo("Unchanged: the scheduler has its own thread cap or queued task cap");
+              assertThat(rows.get(2).getDecision()).isEqualTo("Unchanged: the scheduler has its own TTL or daemon flag");
+          }),
+          version(
+            //language=java
+            java(
+              """
+                import reactor.core.scheduler.Scheduler;
+                import reactor.core.scheduler.Schedulers;
+
+                class TestClass {
+                    Scheduler named() {
+                        return Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "named");
+                    }
+
+                    Scheduler io() {
+                        return Schedulers.newBoundedElastic(100, 10_000, "io");
+                    }
+
+                    Scheduler daemon() {
+                        return Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "daemon", 60, true);
+                    }
+                }
+                """
+            ),
+            21
+          )
+        );
+    }
+
+    @Test
+    void alreadyConfigured() {
+        rewriteRun(
+          version(
+            //language=java
+            java(
+              """
+                import reactor.core.scheduler.Scheduler;
+                import reactor.core.scheduler.Schedulers;
+
+                class Application {
+                    public static void main(String[] args) {
+                        System.setProperty("reactor.schedulers.defaultBoundedElasticOnVirtualThreads", "false");
+                        Scheduler scheduler = Schedulers.boundedElastic();
+                    }
+                }
+                """
+            ),
+            21
+          )
+        );
+    }
+
+    @Test
+    void unchangedBeforeJava21() {
+        rewriteRun(
+          version(
+            //language=java
+            java(
+              """
+                import reactor.core.scheduler.Scheduler;
+                import reactor.core.scheduler.Schedulers;
+
+                class Application {
+                    public static void main(String[] args) {
+                        Scheduler scheduler = Schedulers.boundedElastic();
+                    }
+                }
+                """
+            ),
+            17
+          )
+        );
+    }
+}
@@ -283,6 +283,35 @@ class ReactorDeclarativeRecipeTest implements RewriteTest {
         }
     }
 
+    @Nested
+    class ReactorPreconditionTest {
+
+        @Test
+        void sourceUsingOnlyReactorUtilIsUnchanged() {
+            rewriteRun(
+              //language=java
+              java(
+                """
+                  import reactor.util.concurrent.Queues;
+                  import reactor.util.context.Context;
+
+                  import java.util.Queue;
+
+                  class TestClass {
+                      Context context(String traceId) {
+                          return Context.of("traceId", traceId);
+                      }
+
+                      Queue<String> queue() {
+                          return Queues.<String>unbounded().get();
+                      }
+                  }
+                  """
+              )
+            );
+        }
+    }
+
     @Nested
     class ReactorDependencyUpgradeTest {
         @Test
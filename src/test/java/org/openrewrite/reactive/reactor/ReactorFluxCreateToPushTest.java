@@ -0,0 +1,210 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorFluxCreateToPushTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams")
+            //language=java
+            .dependsOn(
+              """
+                package com.example;
+
+                import java.util.function.Consumer;
+
+                public interface Client {
+                    void onMessage(Consumer<String> consumer);
+                    void register(Listener listener);
+                    void unregister(Listener listener);
+
+                    interface Listener {
+                        void onEvent(String event);
+                        void onClose();
+                    }
+                }
+                """
+            ))
+          .recipe(new ReactorFluxCreateToPush());
+    }
+
+    @Test
+    @DocumentExample
+    void singleListener() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import com.example.Client;
+              import reactor.core.publisher.Flux;
+
+              class TestClass {
+                  Flux<String> events(Client client) {
+                      return Flux.create(sink -> {
+                          Client.Listener listener = new Client.Listener() {
+                              @Override
+                              public void onEvent(String event) {
+                                  sink.next(event);
+                              }
+
+                              @Override
+                              public void onClose() {
+                                  sink.complete();
+                              }
+                          };
+                          client.register(listener);
+                          sink.onDispose(() -> client.unregister(listener));
+                      });
+                  }
+              }
+              """,
+            """
+              import com.example.Client;
+              import reactor.core.publisher.Flux;
+
+              class TestClass {
+                  Flux<String> events(Client client) {
+                      return Flux.push(sink -> {
+                          Client.Listener listener = new Client.Listener() {
+                              @Override
+                              public void onEvent(String event) {
+                                  sink.next(event);
+                              }
+
+                              @Override
+                              public void onClose() {
+                                  sink.complete();
+                              }
+                          };
+                          client.register(listener);
+                          sink.onDispose(() -> client.unregister(listener));
+                      });
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void synchronousLoopAndMethodReference() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.util.List;
+              import com.example.Client;
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.FluxSink;
+
+              class TestClass {
+                  Flux<Integer> values(List<Integer> values) {
+                      return Flux.create(sink -> {
+                          for (Integer value : values) {
+                              sink.next(value);
+                          }
+                          sink.complete();
+                      }, FluxSink.OverflowStrategy.LATEST);
+                  }
+
+                  Flux<String> messages(Client client) {
+                      return Flux.create(sink -> client.onMessage(sink::next));
+                  }
+              }
+              """,
+            """
+              import java.util.List;
+              import com.example.Client;
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.FluxSink;
+
+              class TestClass {
+                  Flux<Integer> values(List<Integer> values) {
+                      return Flux.push(sink -> {
+                          for (Integer value : values) {
+                              sink.next(value);
+                          }
+                          sink.complete();
+                      }, FluxSink.OverflowStrategy.LATEST);
+                  }
+
+                  Flux<String> messages(Client client) {
+                      return Flux.push(sink -> client.onMessage(sink::next));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void severalProducersAreLeftAlone() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.util.List;
+              import java.util.concurrent.Executor;
+              import java.util.function.Consumer;
+              import com.example.Client;
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.FluxSink;
+
+              class TestClass {
+                  Flux<String> callbackInLoop(List<Client> clients) {
+                      return Flux.create(sink -> {
+                          for (Client client : clients) {
+                              client.onMessage(sink::next);
+                          }
+                      });
+                  }
+
+                  Flux<String> directAndCallback(Client client) {
+                      return Flux.create(sink -> {
+                          sink.next("connected");
+                          client.onMessage(message -> sink.next(message));
+                      });
+                  }
+
+                  Flux<String> parallelStream(List<String> ids) {
+                      return Flux.create(sink -> ids.parallelStream().forEach(sink::next));
+                  }
+
+                  Flux<String> executorTask(String id, Executor executor) {
+                      return Flux.create(sink -> executor.execute(() -> sink.next(id)));
+                  }
+
+                  Flux<String> escapingSink(Consumer<FluxSink<String>> registry) {
+                      return Flux.create(sink -> registry.accept(sink));
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.reactive.reactor.table.PerCallSchedulers;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorHoistSchedulerCreationTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          .recipe(new ReactorHoistSchedulerCreation());
+    }
+
+    @Test
+    @DocumentExample
+    void hoistSchedulerPassedToOperator() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Mono;
+              import reactor.core.scheduler.Schedulers;
+
+              class Handler {
+                  Mono<String> handle(String id) {
+                      return Mono.fromCallable(() -> id.trim()).subscribeOn(Schedulers.newParallel("work", 4));
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Mono;
+              import reactor.core.scheduler.Scheduler;
+              import reactor.core.scheduler.Schedulers;
+
+              class Handler {
+                  private static final Scheduler WORK_SCHEDULER = Schedulers.newParallel("work", 4);
+
+                  static {
+                      Runtime.getRuntime().addShutdownHook(new Thread(WORK_SCHEDULER::dispose));
+                  }
+
+                  Mono<String> handle(String id) {
+                      return Mono.fromCallable(() -> id.trim()).subscribeOn(WORK_SCHEDULER);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void reportSchedulersThatCannotMove() {
+        rewriteRun(
+          spec -> spec.dataTable(PerCallSchedulers.Row.class, rows -> {
+              assertThat(rows).hasSize(5);
+              assertThat(rows.get(0).getMethod()).isEqualTo("Handler#named");
+              assertThat(rows.get(0).getReason()).isEqualTo("The arguments depend on instance or local state");
+              assertThat(rows.get(1).getReason()).isEqualTo("The scheduler is stored or returned, and may be disposed by its caller");
+              assertThat(rows.get(2).getReason()).isEqualTo("The scheduler has a single thread, which all callers would share");
+              assertThat(rows.get(3).getReason()).isEqualTo("The scheduler has a single thread, which all callers would share");
+              assertThat(rows.get(4).getMethod()).isEqualTo("Handlers#handle");
+              assertThat(rows.get(4).getReason()).isEqualTo("The enclosing type cannot declare private static fields");
+          }),
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Mono;
+              import reactor.core.scheduler.Scheduler;
+              import reactor.core.scheduler.Schedulers;
+
+              class Handler {
+                  static final Scheduler SHARED = Schedulers.newSingle("shared");
+
+                  Mono<String> named(String name) {
+                      return Mono.just(name).publishOn(Schedulers.newSingle(name));
+                  }
+
+                  String disposed() {
+                      Scheduler scheduler = Schedulers.newSingle("once");
+                      try {
+                          return Mono.just("a").publishOn(scheduler).block();
+                      } finally {
+                          scheduler.dispose();
+                      }
+                  }
+
+                  Mono<String> serial(String id) {
+                      return Mono.just(id).publishOn(Schedulers.newSingle("serial"));
+                  }
+
+                  Mono<String> oneWorker(String id) {
+                      return Mono.just(id).publishOn(Schedulers.newParallel("worker", 1));
+                  }
+              }
+
+              interface Handlers {
+                  default Mono<String> handle(String id) {
+                      return Mono.just(id).publishOn(Schedulers.newParallel("handler", 4));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void hoistIntoEnumAfterConstants() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Mono;
+              import reactor.core.scheduler.Schedulers;
+
+              enum Region {
+                  EU, US;
+
+                  Mono<String> load(String id) {
+                      return Mono.just(id).subscribeOn(Schedulers.newBoundedElastic(4, 100, "region"));
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Mono;
+              import reactor.core.scheduler.Scheduler;
+              import reactor.core.scheduler.Schedulers;
+
+              enum Region {
+                  EU, US;
+
+                  private static final Scheduler REGION_SCHEDULER = Schedulers.newBoundedElastic(4, 100, "region");
+
+                  static {
+                      Runtime.getRuntime().addShutdownHook(new Thread(REGION_SCHEDULER::dispose));
+                  }
+
+                  Mono<String> load(String id) {
+                      return Mono.just(id).subscribeOn(REGION_SCHEDULER);
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorJdkQueuesToReactorQueuesTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          .recipe(new ReactorJdkQueuesToReactorQueues());
+    }
+
+    @Test
+    @DocumentExample
+    void unboundedQueues() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Sinks;
+              import reactor.core.publisher.UnicastProcessor;
+
+              import java.util.concurrent.ConcurrentLinkedQueue;
+              import java.util.concurrent.LinkedBlockingQueue;
+
+              class TestClass {
+                  void queues() {
+                      Sinks.Many<String> sink = Sinks.many().unicast().onBackpressureBuffer(new LinkedBlockingQueue<>());
+                      UnicastProcessor<Integer> processor = UnicastProcessor.create(new ConcurrentLinkedQueue<Integer>());
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Sinks;
+              import reactor.core.publisher.UnicastProcessor;
+              import reactor.util.concurrent.Queues;
+
+              class TestClass {
+                  void queues() {
+                      Sinks.Many<String> sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<String>unbounded().get());
+                      UnicastProcessor<Integer> processor = UnicastProcessor.create(Queues.<Integer>unbounded().get());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void boundedQueueWithPowerOfTwoCapacity() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Sinks;
+
+              import java.util.concurrent.ArrayBlockingQueue;
+
+              class TestClass {
+                  Sinks.Many<String> sink() {
+                      return Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(256));
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Sinks;
+              import reactor.util.concurrent.Queues;
+
+              class TestClass {
+                  Sinks.Many<String> sink() {
+                      return Sinks.many().unicast().onBackpressureBuffer(Queues.<String>get(256).get());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepCapacityThatWouldBeRounded() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Sinks;
+
+              import java.util.concurrent.ArrayBlockingQueue;
+              import java.util.concurrent.LinkedBlockingQueue;
+
+              class TestClass {
+                  void sinks(int capacity) {
+                      Sinks.Many<String> odd = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(100));
+                      Sinks.Many<String> small = Sinks.many().unicast().onBackpressureBuffer(new LinkedBlockingQueue<>(4));
+                      Sinks.Many<String> variable = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(capacity));
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorLazyFallbackValuesTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          .recipe(new ReactorLazyFallbackValues());
+    }
+
+    @Test
+    @DocumentExample
+    void deferFallbacks() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  interface Repo {
+                      String loadDefault();
+                  }
+
+                  Mono<String> switchIfEmpty(Mono<String> found, Repo repo) {
+                      return found.switchIfEmpty(Mono.just(repo.loadDefault()));
+                  }
+
+                  Flux<String> defaultIfEmpty(Flux<String> found, Repo repo) {
+                      return found.defaultIfEmpty(repo.loadDefault());
+                  }
+
+                  Mono<String> onErrorReturn(Mono<String> found, Repo repo) {
+                      return found
+                          .onErrorReturn(IllegalStateException.class, repo.loadDefault());
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  interface Repo {
+                      String loadDefault();
+                  }
+
+                  Mono<String> switchIfEmpty(Mono<String> found, Repo repo) {
+                      return found.switchIfEmpty(Mono.fromSupplier(() -> repo.loadDefault()));
+                  }
+
+                  Flux<String> defaultIfEmpty(Flux<String> found, Repo repo) {
+                      return found.switchIfEmpty(Mono.fromSupplier(() -> repo.loadDefault()));
+                  }
+
+                  Mono<String> onErrorReturn(Mono<String> found, Repo repo) {
+                      return found
+                          .onErrorResume(IllegalStateException.class, e -> Mono.fromSupplier(() -> repo.loadDefault()));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void monoJustInMethodBody() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  Mono<String> load() {
+                      return Mono.just(String.join(",", "a", "b"));
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  Mono<String> load() {
+                      return Mono.fromSupplier(() -> String.join(",", "a", "b"));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void cheapOrCachedValuesAreUnchanged() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  static final Mono<String> CACHED = Mono.just(String.valueOf(System.nanoTime()));
+
+                  interface User {
+                      String getName();
+                  }
+
+                  Flux<String> keep(Flux<String> flux, Mono<String> mono, User user, String fallback) {
+                      mono.defaultIfEmpty("constant");
+                      mono.onErrorReturn(fallback);
+                      mono.switchIfEmpty(Mono.just(user.getName()));
+                      return flux.flatMap(s -> Mono.just(s.trim()));
+                  }
+
+                  Mono<String> reassigned(Mono<String> mono, String id) {
+                      id = id.trim();
+                      return mono.defaultIfEmpty(id.toUpperCase());
+                  }
+              }
+              """
+          )
+        );
+    }
+}
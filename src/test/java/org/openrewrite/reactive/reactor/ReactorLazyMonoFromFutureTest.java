@@ -0,0 +1,223 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorLazyMonoFromFutureTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams")
+            //language=java
+            .dependsOn(
+              """
+                package com.example;
+
+                import java.util.concurrent.CompletableFuture;
+
+                public interface Client {
+                    String load(String id);
+                    CompletableFuture<String> fetch(String id);
+                }
+                """
+            ))
+          .recipe(new ReactorLazyMonoFromFuture());
+    }
+
+    @Test
+    @DocumentExample
+    void supplyAsyncToFromCallable() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.util.concurrent.CompletableFuture;
+              import com.example.Client;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  Mono<String> load(Client client, String id) {
+                      return Mono.fromFuture(CompletableFuture.supplyAsync(() -> client.load(id)));
+                  }
+              }
+              """,
+            """
+              import com.example.Client;
+              import reactor.core.publisher.Mono;
+              import reactor.core.scheduler.Schedulers;
+
+              class TestClass {
+                  Mono<String> load(Client client, String id) {
+                      return Mono.fromCallable(() -> client.load(id)).subscribeOn(Schedulers.boundedElastic());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void lazyFutures() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.util.concurrent.CompletableFuture;
+              import java.util.function.Supplier;
+              import com.example.Client;
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  Mono<String> fetch(Client client, String id) {
+                      return Mono.fromFuture(client.fetch(id));
+                  }
+
+                  Flux<String> fetchAll(Client client, Flux<String> ids) {
+                      return ids.flatMap(id -> Mono.fromFuture(client.fetch(id)));
+                  }
+
+                  Mono<String> supplier(Supplier<String> supplier) {
+                      return Mono.fromFuture(CompletableFuture.supplyAsync(supplier));
+                  }
+              }
+              """,
+            """
+              import java.util.function.Supplier;
+              import com.example.Client;
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+              import reactor.core.scheduler.Schedulers;
+
+              class TestClass {
+                  Mono<String> fetch(Client client, String id) {
+                      return Mono.fromFuture(() -> client.fetch(id));
+                  }
+
+                  Flux<String> fetchAll(Client client, Flux<String> ids) {
+                      return ids.flatMap(id -> Mono.fromFuture(() -> client.fetch(id)));
+                  }
+
+                  Mono<String> supplier(Supplier<String> supplier) {
+                      return Mono.fromCallable(supplier::get).subscribeOn(Schedulers.boundedElastic());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void lazyFutureWithoutCancellation() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.5", "reactive-streams")
+            //language=java
+            .dependsOn(
+              """
+                package com.example;
+
+                import java.util.concurrent.CompletableFuture;
+
+                public interface Client {
+                    CompletableFuture<String> fetch(String id);
+                }
+                """
+            )),
+          //language=java
+          java(
+            """
+              import com.example.Client;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  Mono<String> fetchUncancelled(Client client, String id) {
+                      return Mono.fromFuture(client.fetch(id), true);
+                  }
+              }
+              """,
+            """
+              import com.example.Client;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  Mono<String> fetchUncancelled(Client client, String id) {
+                      return Mono.fromFuture(() -> client.fetch(id), true);
+                  }
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> new JavaIsoVisitor<Integer>() {
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+                    if ("fromFuture".equals(method.getSimpleName())) {
+                        JavaType.Method methodType = method.getMethodType();
+                        assertThat(methodType).isNotNull();
+                        assertThat(methodType.getDeclaringType().getFullyQualifiedName()).isEqualTo("reactor.core.publisher.Mono");
+                        assertThat(methodType.getParameterTypes()).hasSize(2);
+                        assertThat(TypeUtils.isOfClassType(methodType.getParameterTypes().get(0), "java.util.function.Supplier")).isTrue();
+                        assertThat(methodType.getParameterTypes().get(1)).isEqualTo(JavaType.Primitive.Boolean);
+                    }
+                    return super.visitMethodInvocation(method, p);
+                }
+            }.visit(cu, 0))
+          )
+        );
+    }
+
+    @Test
+    void existingFuturesAndFieldsAreLeftAlone() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.util.concurrent.CompletableFuture;
+              import com.example.Client;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  static final Mono<String> CONFIG = Mono.fromFuture(CompletableFuture.supplyAsync(() -> "config"));
+
+                  Mono<String> existing(CompletableFuture<String> future) {
+                      return Mono.fromFuture(future);
+                  }
+
+                  Mono<String> reassigned(Client client, String id) {
+                      if (id.isEmpty()) {
+                          id = "default";
+                      }
+                      return Mono.fromFuture(client.fetch(id));
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorMdcHooksToAutomaticContextPropagationTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams")
+            //language=java
+            .dependsOn(
+              """
+                package org.slf4j;
+                public class MDC {
+                    public static void put(String key, String value) {}
+                    public static String get(String key) { return null; }
+                    public static void remove(String key) {}
+                }
+                """
+            ))
+          .recipe(new ReactorMdcHooksToAutomaticContextPropagation(null));
+    }
+
+    @Test
+    @DocumentExample
+    void mdcHookToAutomaticContextPropagation() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.reactivestreams.Subscription;
+              import org.slf4j.MDC;
+              import reactor.core.CoreSubscriber;
+              import reactor.core.publisher.Hooks;
+              import reactor.core.publisher.Operators;
+
+              class MdcConfig {
+                  void init() {
+                      Hooks.onEachOperator("mdc", Operators.lift((scannable, subscriber) -> new MdcLifter<>(subscriber)));
+                  }
+
+                  void destroy() {
+                      Hooks.resetOnEachOperator("mdc");
+                  }
+
+                  static class MdcLifter<T> implements CoreSubscriber<T> {
+                      private final CoreSubscriber<T> delegate;
+
+                      MdcLifter(CoreSubscriber<T> delegate) {
+                          this.delegate = delegate;
+                      }
+
+                      public void onSubscribe(Subscription s) {
+                          delegate.onSubscribe(s);
+                      }
+
+                      public void onNext(T t) {
+                          MDC.put("traceId", delegate.currentContext().getOrDefault("traceId", ""));
+                          delegate.onNext(t);
+                      }
+
+                      public void onError(Throwable t) {
+                          delegate.onError(t);
+                      }
+
+                      public void onComplete() {
+                          delegate.onComplete();
+                      }
+                  }
+              }
+              """,
+            """
+              import io.micrometer.context.ContextRegistry;
+              import org.reactivestreams.Subscription;
+              import org.slf4j.MDC;
+              import reactor.core.CoreSubscriber;
+              import reactor.core.publisher.Hooks;
+
+              class MdcConfig {
+                  void init() {
+                      Hooks.enableAutomaticContextPropagation();
+                      ContextRegistry.getInstance().registerThreadLocalAccessor("traceId", () -> MDC.get("traceId"), value -> MDC.put("traceId", value), () -> MDC.remove("traceId"));
+                  }
+
+                  void destroy() {
+                  }
+
+                  static class MdcLifter<T> implements CoreSubscriber<T> {
+                      private final CoreSubscriber<T> delegate;
+
+                      MdcLifter(CoreSubscriber<T> delegate) {
+                          this.delegate = delegate;
+                      }
+
+                      public void onSubscribe(Subscription s) {
+                          delegate.onSubscribe(s);
+                      }
+
+                      public void onNext(T t) {
+                          MDC.put("traceId", delegate.currentContext().getOrDefault("traceId", ""));
+                          delegate.onNext(t);
+                      }
+
+                      public void onError(Throwable t) {
+                          delegate.onError(t);
+                      }
+
+                      public void onComplete() {
+                          delegate.onComplete();
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void configuredKeys() {
+        rewriteRun(
+          spec -> spec.recipe(new ReactorMdcHooksToAutomaticContextPropagation(List.of("traceId", "spanId"))),
+          //language=java
+          java(
+            """
+              import org.slf4j.MDC;
+              import reactor.core.CoreSubscriber;
+              import reactor.core.publisher.BaseSubscriber;
+              import reactor.core.publisher.Hooks;
+              import reactor.core.publisher.Operators;
+
+              class MdcConfig {
+                  static void init() {
+                      Hooks.onEachOperator("MDC_CONTEXT_REACTOR_KEY", Operators.lift((scannable, subscriber) -> new MdcLifter<>(subscriber)));
+                  }
+
+                  static class MdcLifter<T> extends BaseSubscriber<T> {
+                      private final CoreSubscriber<? super T> delegate;
+
+                      MdcLifter(CoreSubscriber<? super T> delegate) {
+                          this.delegate = delegate;
+                      }
+
+                      @Override
+                      protected void hookOnNext(T value) {
+                          MDC.remove("traceId");
+                          delegate.onNext(value);
+                      }
+                  }
+              }
+              """,
+            """
+              import io.micrometer.context.ContextRegistry;
+              import org.slf4j.MDC;
+              import reactor.core.CoreSubscriber;
+              import reactor.core.publisher.BaseSubscriber;
+              import reactor.core.publisher.Hooks;
+
+              class MdcConfig {
+                  static void init() {
+                      Hooks.enableAutomaticContextPropagation();
+                      ContextRegistry.getInstance().registerThreadLocalAccessor("traceId", () -> MDC.get("traceId"), value -> MDC.put("traceId", value), () -> MDC.remove("traceId"));
+                      ContextRegistry.getInstance().registerThreadLocalAccessor("spanId", () -> MDC.get("spanId"), value -> MDC.put("spanId", value), () -> MDC.remove("spanId"));
+                  }
+
+                  static class MdcLifter<T> extends BaseSubscriber<T> {
+                      private final CoreSubscriber<? super T> delegate;
+
+                      MdcLifter(CoreSubscriber<? super T> delegate) {
+                          this.delegate = delegate;
+                      }
+
+                      @Override
+                      protected void hookOnNext(T value) {
+                          MDC.remove("traceId");
+                          delegate.onNext(value);
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void liftWithoutMdcReference() {
+        rewriteRun(
+          spec -> spec.recipe(new ReactorMdcHooksToAutomaticContextPropagation(List.of("traceId"))),
+          //language=java
+          java(
+            """
+              import org.slf4j.MDC;
+              import reactor.core.publisher.Hooks;
+              import reactor.core.publisher.Operators;
+
+              class MdcConfig {
+                  static void init() {
+                      MDC.put("traceId", "none");
+                      Hooks.onEachOperator("MDC_CONTEXT_REACTOR_KEY", Operators.lift((scannable, subscriber) -> subscriber));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void noMdcKeysKnown() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Hooks;
+              import reactor.core.publisher.Operators;
+
+              class MdcConfig {
+                  static void init() {
+                      Hooks.onEachOperator("MDC_CONTEXT_REACTOR_KEY", Operators.lift((scannable, subscriber) -> subscriber));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void unrelatedHook() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.slf4j.MDC;
+              import reactor.core.publisher.Hooks;
+
+              class TracingConfig {
+                  static void init() {
+                      MDC.put("traceId", "none");
+                      Hooks.onEachOperator("tracing", publisher -> publisher);
+                  }
+              }
+              """
+          )
+        );
+    }
+}
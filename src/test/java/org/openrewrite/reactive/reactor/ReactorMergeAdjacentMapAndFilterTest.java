@@ -0,0 +1,201 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorMergeAdjacentMapAndFilterTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          .recipe(new ReactorMergeAdjacentMapAndFilter());
+    }
+
+    @Test
+    @DocumentExample
+    void mergeMapsAndFilters() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+
+              class TestClass {
+                  Flux<Integer> lengths(Flux<String> flux) {
+                      return flux
+                          .filter(s -> !s.isEmpty())
+                          .filter(t -> t.length() > 3 || t.startsWith("a"))
+                          .map(s -> s.trim())
+                          .map(s -> s.toUpperCase())
+                          .map(u -> u.length() * 2);
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Flux;
+
+              class TestClass {
+                  Flux<Integer> lengths(Flux<String> flux) {
+                      return flux
+                          .filter(s -> !s.isEmpty() && (s.length() > 3 || s.startsWith("a")))
+                          .map(s -> s.trim().toUpperCase().length() * 2);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void mergeMonoMaps() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  Mono<Integer> length(Mono<String> mono) {
+                      return mono.map(s -> s.length()).map(n -> n + 1);
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  Mono<Integer> length(Mono<String> mono) {
+                      return mono.map(s -> s.length() + 1);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void sideEffectsAreNotMerged() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.util.List;
+              import reactor.core.publisher.Flux;
+
+              class TestClass {
+                  int counter;
+
+                  Flux<Boolean> track(Flux<String> flux, List<String> seen) {
+                      return flux
+                          .map(s -> counter++ + s)
+                          .map(s -> seen.add(s));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void recordAccessors() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+
+              class TestClass {
+                  record Order(String id, int quantity) {
+                  }
+
+                  Flux<Order> large(Flux<Order> orders) {
+                      return orders
+                          .filter(o -> o.quantity() > 10)
+                          .filter(o -> !o.id().isEmpty());
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Flux;
+
+              class TestClass {
+                  record Order(String id, int quantity) {
+                  }
+
+                  Flux<Order> large(Flux<Order> orders) {
+                      return orders
+                          .filter(o -> o.quantity() > 10 && !o.id().isEmpty());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void gettersAreNotAssumedPure() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+
+              class TestClass {
+                  interface Cursor {
+                      String getNext();
+                  }
+
+                  Flux<String> next(Flux<Cursor> cursors) {
+                      return cursors
+                          .filter(c -> c.getNext() != null)
+                          .filter(c -> !c.getNext().isEmpty());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void nullableIntermediateValueIsNotMerged() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+
+              class TestClass {
+                  Flux<String> describe(Flux<String> flux) {
+                      return flux
+                          .map(s -> s.isEmpty() ? null : s)
+                          .map(s -> String.valueOf(s));
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.reactive.reactor.table.BoundedReplaySinks;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorProcessorToSinkTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          .recipe(new ReactorProcessorToSink(null, null, null));
+    }
+
+    @Test
+    @DocumentExample
+    void replayProcessor() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.ReplayProcessor;
+
+              class TestClass {
+                  void create(Integer integer, Object value) {
+                      ReplayProcessor.create();
+                      ReplayProcessor.create(integer);
+                      ReplayProcessor.create(integer, false);
+                      ReplayProcessor.create(integer, true);
+                      ReplayProcessor.cacheLast();
+                      ReplayProcessor.cacheLastOrDefault(value);
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Sinks;
+
+              class TestClass {
+                  void create(Integer integer, Object value) {
+                      Sinks.many().replay().all();
+                      Sinks.many().replay().limit(integer);
+                      Sinks.many().replay().limit(integer);
+                      Sinks.many().replay().all(integer);
+                      Sinks.many().replay().latest();
+                      Sinks.many().replay().latestOrDefault(value);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void emitterProcessor() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.EmitterProcessor;
+
+              class TestClass {
+                  void create(Integer integer, Boolean bool) {
+                      EmitterProcessor.create();
+                      EmitterProcessor.create(bool);
+                      EmitterProcessor.create(integer);
+                      EmitterProcessor.create(integer, bool);
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Sinks;
+              import reactor.util.concurrent.Queues;
+
+              class TestClass {
+                  void create(Integer integer, Boolean bool) {
+                      Sinks.many().multicast().onBackpressureBuffer();
+                      Sinks.many().multicast().onBackpressureBuffer(Queues.SMALL_BUFFER_SIZE, bool);
+                      Sinks.many().multicast().onBackpressureBuffer(integer);
+                      Sinks.many().multicast().onBackpressureBuffer(integer, bool);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void unicastProcessor() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.util.Queue;
+              import java.util.function.Consumer;
+              import reactor.core.Disposable;
+              import reactor.core.publisher.UnicastProcessor;
+
+              class TestClass {
+                  void create(Queue queue, Consumer consumer, Disposable disposable) {
+                      UnicastProcessor.create(queue);
+                      UnicastProcessor.create(queue, consumer, disposable);
+                      UnicastProcessor.create(queue, disposable);
+                  }
+              }
+              """,
+            """
+              import java.util.Queue;
+              import java.util.function.Consumer;
+              import reactor.core.Disposable;
+              import reactor.core.publisher.Sinks;
+
+              class TestClass {
+                  void create(Queue queue, Consumer consumer, Disposable disposable) {
+                      Sinks.many().unicast().onBackpressureBuffer(queue);
+                      Sinks.many().unicast().onBackpressureBuffer(queue, disposable);
+                      Sinks.many().unicast().onBackpressureBuffer(queue, disposable);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void nonLiteralUnboundedFlagIsLeftAlone() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.ReplayProcessor;
+
+              class TestClass {
+                  void create(Integer integer, boolean unbounded) {
+                      ReplayProcessor.create(integer, unbounded);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void unsafeSinkForThreadConfinedProcessor() {
+        rewriteRun(
+          spec -> spec.recipe(new ReactorProcessorToSink(true, null, null)),
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.DirectProcessor;
+
+              class TestClass {
+                  void confined() {
+                      var processor = DirectProcessor.<String>create();
+                      processor.subscribe(System.out::println);
+                      processor.onNext("a");
+                  }
+
+                  void captured() {
+                      var processor = DirectProcessor.<String>create();
+                      new Thread(() -> processor.onNext("a")).start();
+                  }
+
+                  Object escaping() {
+                      var processor = DirectProcessor.<String>create();
+                      return processor;
+                  }
+
+                  void sinkEscapes() {
+                      var processor = DirectProcessor.<String>create();
+                      processor.subscribe(System.out::println);
+                      processor.sink().next("a");
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Sinks;
+
+              class TestClass {
+                  void confined() {
+                      var processor = Sinks.unsafe().many().multicast().directBestEffort();
+                      processor.subscribe(System.out::println);
+                      processor.onNext("a");
+                  }
+
+                  void captured() {
+                      var processor = Sinks.many().multicast().directBestEffort();
+                      new Thread(() -> processor.onNext("a")).start();
+                  }
+
+                  Object escaping() {
+                      var processor = Sinks.many().multicast().directBestEffort();
+                      return processor;
+                  }
+
+                  void sinkEscapes() {
+                      var processor = Sinks.many().multicast().directBestEffort();
+                      processor.subscribe(System.out::println);
+                      processor.sink().next("a");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void boundedReplayHistory() {
+        rewriteRun(
+          spec -> spec.recipe(new ReactorProcessorToSink(null, 1000, "PT5M"))
+            .dataTable(BoundedReplaySinks.Row.class, rows -> {
+                assertThat(rows).hasSize(2);
+                assertThat(rows.get(0).getProcessorCall()).isEqualTo("ReplayProcessor.create()");
+                assertThat(rows.get(0).getSinkSpec()).isEqualTo("Sinks.many().replay().limit(1000, Duration.ofMinutes(5))");
+            }),
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.ReplayProcessor;
+
+              class TestClass {
+                  void create(Integer integer) {
+                      ReplayProcessor.create();
+                      ReplayProcessor.create(integer, true);
+                      ReplayProcessor.create(integer);
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Sinks;
+
+              import java.time.Duration;
+
+              class TestClass {
+                  void create(Integer integer) {
+                      Sinks.many().replay().limit(1000, Duration.ofMinutes(5));
+                      Sinks.many().replay().limit(1000, Duration.ofMinutes(5));
+                      Sinks.many().replay().limit(integer);
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorProcessorUsagesToSinkTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          // The factory calls are migrated by `ReactorProcessorToSink`, as in `MigrateReactorApis_3_5`
+          .recipes(new ReactorProcessorUsagesToSink(null, null), new ReactorProcessorToSink(null, null, null));
+    }
+
+    @Test
+    @DocumentExample
+    void emissionsAndSubscriptions() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.UnicastProcessor;
+
+              class TestClass {
+                  Flux<String> stream() {
+                      UnicastProcessor<String> processor = UnicastProcessor.create();
+                      processor.onNext("a");
+                      processor.sink().next("b");
+                      processor.onComplete();
+                      processor.subscribe(System.out::println);
+                      return processor;
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Sinks;
+
+              import java.time.Duration;
+
+              class TestClass {
+                  Flux<String> stream() {
+                      Sinks.Many<String> processor = Sinks.many().unicast().onBackpressureBuffer();
+                      processor.emitNext("a", Sinks.EmitFailureHandler.FAIL_FAST);
+                      processor.emitNext("b", Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+                      processor.emitComplete(Sinks.EmitFailureHandler.FAIL_FAST);
+                      processor.asFlux().subscribe(System.out::println);
+                      return processor.asFlux();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void monoProcessorFieldWithTryEmit() {
+        rewriteRun(
+          spec -> spec.recipes(new ReactorProcessorUsagesToSink("TRY_EMIT", null), new ReactorProcessorToSink(null, null, null)),
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Mono;
+              import reactor.core.publisher.MonoProcessor;
+
+              class TestClass {
+                  private final MonoProcessor<String> result = MonoProcessor.create();
+
+                  void complete(String value) {
+                      result.onNext(value);
+                  }
+
+                  void fail(Throwable error) {
+                      this.result.onError(error);
+                  }
+
+                  Mono<String> result() {
+                      return this.result;
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Mono;
+              import reactor.core.publisher.Sinks;
+
+              class TestClass {
+                  private final Sinks.One<String> result = Sinks.one();
+
+                  void complete(String value) {
+                      result.tryEmitValue(value);
+                  }
+
+                  void fail(Throwable error) {
+                      this.result.tryEmitError(error);
+                  }
+
+                  Mono<String> result() {
+                      return this.result.asMono();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void busyLoopingForConcurrentProducers() {
+        rewriteRun(
+          spec -> spec.recipes(new ReactorProcessorUsagesToSink("BUSY_LOOPING", "PT0.5S"), new ReactorProcessorToSink(null, null, null)),
+          //language=java
+          java(
+            """
+              import java.util.List;
+              import reactor.core.publisher.EmitterProcessor;
+
+              class TestClass {
+                  void publish(List<String> events) {
+                      EmitterProcessor<String> processor = EmitterProcessor.create();
+                      processor.subscribe(System.out::println);
+                      events.parallelStream().forEach(event -> processor.sink().next(event));
+                  }
+              }
+              """,
+            """
+              import java.time.Duration;
+              import java.util.List;
+              import reactor.core.publisher.Sinks;
+
+              class TestClass {
+                  void publish(List<String> events) {
+                      Sinks.Many<String> processor = Sinks.many().multicast().onBackpressureBuffer();
+                      processor.asFlux().subscribe(System.out::println);
+                      events.parallelStream().forEach(event -> processor.emitNext(event, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(500))));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void processorUsedAsSubscriberIsLeftAlone() {
+        rewriteRun(
+          spec -> spec.recipe(new ReactorProcessorUsagesToSink(null, null)),
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.DirectProcessor;
+              import reactor.core.publisher.Flux;
+
+              class TestClass {
+                  void relay(Flux<String> source) {
+                      DirectProcessor<String> processor = DirectProcessor.create();
+                      source.subscribe(processor);
+                      processor.onNext("a");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void sameNameDeclaredInTwoLambdasIsLeftAlone() {
+        rewriteRun(
+          spec -> spec.recipe(new ReactorProcessorUsagesToSink(null, null)),
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.DirectProcessor;
+              import reactor.core.publisher.Flux;
+
+              class TestClass {
+                  void relay(Flux<String> source) {
+                      Runnable emit = () -> {
+                          DirectProcessor<String> processor = DirectProcessor.create();
+                          processor.onNext("a");
+                      };
+                      Runnable subscribe = () -> {
+                          DirectProcessor<String> processor = DirectProcessor.create();
+                          source.subscribe(processor);
+                      };
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void factoryWithoutSinkEquivalentIsLeftAlone() {
+        rewriteRun(
+          spec -> spec.recipe(new ReactorProcessorUsagesToSink(null, null)),
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.ReplayProcessor;
+
+              class TestClass {
+                  void replay(int n, boolean unbounded) {
+                      ReplayProcessor<String> processor = ReplayProcessor.create(n, unbounded);
+                      processor.onNext("a");
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorRemoveRedundantSchedulerHopsTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          .recipe(new ReactorRemoveRedundantSchedulerHops());
+    }
+
+    @Test
+    @DocumentExample
+    void removeRedundantHops() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.scheduler.Schedulers;
+
+              class TestClass {
+                  Flux<Integer> hops(Flux<String> flux) {
+                      return flux
+                          .subscribeOn(Schedulers.boundedElastic())
+                          .map(String::length)
+                          .subscribeOn(Schedulers.parallel())
+                          .publishOn(Schedulers.parallel())
+                          .publishOn(Schedulers.parallel());
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.scheduler.Schedulers;
+
+              class TestClass {
+                  Flux<Integer> hops(Flux<String> flux) {
+                      return flux
+                          .subscribeOn(Schedulers.boundedElastic())
+                          .map(String::length)
+                          .publishOn(Schedulers.parallel());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void effectiveHopsAreKept() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Mono;
+              import reactor.core.scheduler.Schedulers;
+
+              class TestClass {
+                  Mono<String> hops(Mono<String> mono) {
+                      return mono
+                          .subscribeOn(Schedulers.boundedElastic())
+                          .doOnSubscribe(s -> System.out.println("subscribed"))
+                          .subscribeOn(Schedulers.parallel())
+                          .publishOn(Schedulers.parallel())
+                          .publishOn(Schedulers.single())
+                          .publishOn(Schedulers.newSingle("a"))
+                          .publishOn(Schedulers.newSingle("a"));
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorScalarFlatMapToMapTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          .recipe(new ReactorScalarFlatMapToMap());
+    }
+
+    @Test
+    @DocumentExample
+    void scalarLambdaToMap() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  void fuse(Flux<String> flux, Mono<String> mono) {
+                      flux.flatMap(s -> Mono.just(s.length()));
+                      flux.concatMap(s -> Flux.just(s.trim()));
+                      flux.switchMap(s -> Mono.just(s + "!"));
+                      mono.flatMap(s -> Mono.just(s.length()));
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  void fuse(Flux<String> flux, Mono<String> mono) {
+                      flux.map(s -> s.length());
+                      flux.map(s -> s.trim());
+                      flux.map(s -> s + "!");
+                      mono.map(s -> s.length());
+                  }
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> new JavaIsoVisitor<Integer>() {
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+                    if ("map".equals(method.getSimpleName())) {
+                        JavaType.Method methodType = method.getMethodType();
+                        assertThat(methodType).isNotNull();
+                        assertThat(methodType.getName()).isEqualTo("map");
+                        assertThat(method.getName().getType()).isSameAs(methodType);
+                        assertThat(methodType.getParameterTypes()).hasSize(1);
+                        assertThat(TypeUtils.isOfClassType(methodType.getParameterTypes().get(0), "java.util.function.Function")).isTrue();
+                        assertThat(TypeUtils.isOfClassType(methodType.getReturnType(), methodType.getDeclaringType().getFullyQualifiedName())).isTrue();
+                    }
+                    return super.visitMethodInvocation(method, p);
+                }
+            }.visit(cu, 0))
+          )
+        );
+    }
+
+    @Test
+    void identityJustReference() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  void fuse(Flux<String> flux, Mono<String> mono) {
+                      Flux<String> a = flux.flatMap(Mono::just);
+                      Mono<String> b = mono.flatMap(Mono::just);
+                      Flux<String> c = mono.flatMapMany(Flux::just);
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  void fuse(Flux<String> flux, Mono<String> mono) {
+                      Flux<String> a = flux;
+                      Mono<String> b = mono;
+                      Flux<String> c = mono.flux();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void nonScalarInnerPublishersAreUnchanged() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              class TestClass {
+                  void keep(Flux<String> flux, Flux<String[]> arrays, Mono<String> mono) {
+                      flux.flatMap(s -> Flux.just(s, s));
+                      flux.flatMap(s -> Mono.justOrEmpty(s));
+                      arrays.flatMap(a -> Flux.just(a));
+                      mono.flatMap(s -> {
+                          return Mono.just(s.length());
+                      });
+                  }
+              }
+              """
+          )
+        );
+    }
+}
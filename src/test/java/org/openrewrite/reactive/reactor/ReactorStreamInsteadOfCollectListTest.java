@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorStreamInsteadOfCollectListTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          .recipe(new ReactorStreamInsteadOfCollectList());
+    }
+
+    @Test
+    @DocumentExample
+    void removeCollectThenIterate() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+
+              import java.util.function.Function;
+
+              class TestClass {
+                  void export(Flux<String> flux) {
+                      flux.collectList().flatMapMany(Flux::fromIterable).subscribe();
+                      flux.collectList().flatMapMany(list -> Flux.fromIterable(list)).subscribe();
+                      flux.collectList().flatMapIterable(Function.identity()).subscribe();
+                      flux.collectList().flatMapIterable(list -> list).subscribe();
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Flux;
+
+              import java.util.function.Function;
+
+              class TestClass {
+                  void export(Flux<String> flux) {
+                      flux.subscribe();
+                      flux.subscribe();
+                      flux.subscribe();
+                      flux.subscribe();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void sizeAndIsEmpty() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              import java.util.List;
+
+              class TestClass {
+                  Mono<Integer> size(Flux<String> flux) {
+                      return flux.collectList().map(List::size);
+                  }
+
+                  Mono<Integer> sizeLambda(Flux<String> flux) {
+                      return flux.collectList().map(l -> l.size());
+                  }
+
+                  Mono<Boolean> isEmpty(Flux<String> flux) {
+                      return flux.collectList().map(List::isEmpty);
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              import java.util.List;
+
+              class TestClass {
+                  Mono<Integer> size(Flux<String> flux) {
+                      return flux.count().map(Long::intValue);
+                  }
+
+                  Mono<Integer> sizeLambda(Flux<String> flux) {
+                      return flux.count().map(Long::intValue);
+                  }
+
+                  Mono<Boolean> isEmpty(Flux<String> flux) {
+                      return flux.hasElements().map(Boolean.FALSE::equals);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepListsThatAreUsed() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+
+              import java.util.List;
+
+              class TestClass {
+                  Mono<String> first(Flux<String> flux) {
+                      return flux.collectList().map(l -> l.get(0));
+                  }
+
+                  Mono<List<String>> view(Flux<String> flux) {
+                      return flux.collectList().map(l -> l.subList(0, l.size()));
+                  }
+
+                  Flux<String> other(Flux<String> flux, List<String> other) {
+                      return flux.collectList().flatMapMany(l -> Flux.fromIterable(other));
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.reactive.reactor.table.TakeDemandDecisions;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class ReactorTakePreservesUpstreamDemandTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams")
+            //language=java
+            .dependsOn(
+              """
+                package reactor.kafka.receiver;
+                import reactor.core.publisher.Flux;
+                public interface KafkaReceiver<K, V> {
+                    Flux<V> receive();
+                }
+                """
+            ))
+          .recipe(new ReactorTakePreservesUpstreamDemand(null));
+    }
+
+    @Test
+    @DocumentExample
+    void kafkaSource() {
+        rewriteRun(
+          spec -> spec.dataTable(TakeDemandDecisions.Row.class, rows -> {
+              assertThat(rows).hasSize(2);
+              assertThat(rows.get(0).getUpstreamSource()).isEqualTo("reactor.kafka.receiver.KafkaReceiver");
+              assertThat(rows.get(0).getDecision()).startsWith("Rewritten");
+              assertThat(rows.get(1).getUpstreamSource()).isEmpty();
+              assertThat(rows.get(1).getDecision()).startsWith("Unchanged");
+          }),
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.kafka.receiver.KafkaReceiver;
+
+              class TestClass {
+                  Flux<String> kafka(KafkaReceiver<String, String> receiver) {
+                      return receiver.receive().map(String::trim).take(100);
+                  }
+
+                  Flux<String> unknown(Flux<String> flux) {
+                      return flux.take(100);
+                  }
+              }
+              """,
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.kafka.receiver.KafkaReceiver;
+
+              class TestClass {
+                  Flux<String> kafka(KafkaReceiver<String, String> receiver) {
+                      return receiver.receive().map(String::trim).take(100, false);
+                  }
+
+                  Flux<String> unknown(Flux<String> flux) {
+                      return flux.take(100);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void nonBatchingSource() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+
+              class TestClass {
+                  Flux<Integer> range() {
+                      return Flux.range(0, 1000).take(10);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void alreadyBuiltAgainstReactor35() {
+        rewriteRun(
+          spec -> spec
+            .parser(JavaParser.fromJavaVersion()
+              .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.5", "reactive-streams")
+              //language=java
+              .dependsOn(
+                """
+                  package reactor.kafka.receiver;
+                  import reactor.core.publisher.Flux;
+                  public interface KafkaReceiver<K, V> {
+                      Flux<V> receive();
+                  }
+                  """
+              ))
+            .dataTable(TakeDemandDecisions.Row.class, rows -> {
+                assertThat(rows).hasSize(1);
+                assertThat(rows.get(0).getDecision()).isEqualTo("Unchanged: the code is not known to be built against Reactor 3.4");
+            }),
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.Flux;
+              import reactor.kafka.receiver.KafkaReceiver;
+
+              class TestClass {
+                  Flux<String> kafka(KafkaReceiver<String, String> receiver) {
+                      return receiver.receive().take(100);
+                  }
+              }
+              """
+          )
+        );
+    }
+}
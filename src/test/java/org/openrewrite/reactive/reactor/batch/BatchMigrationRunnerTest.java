@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.reactive.reactor.ChangeReactorMethodNames;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchMigrationRunnerTest {
+
+    @Test
+    void migratesEachBatch(@TempDir Path baseDir) throws Exception {
+        Path sources = Files.createDirectories(baseDir.resolve("src/main/java"));
+        for (String name : List.of("A", "B", "C")) {
+            //language=java
+            Files.writeString(sources.resolve(name + ".java"),
+              """
+                import reactor.core.publisher.Flux;
+
+                class %s {
+                    Flux<String> first(Flux<String> flux) {
+                        return flux.limitRequest(1);
+                    }
+                }
+                """.formatted(name));
+        }
+        Files.createDirectories(baseDir.resolve("build/generated"));
+        Files.writeString(baseDir.resolve("build/generated/D.java"), "class D {}");
+
+        BatchMigrationRunner runner = new BatchMigrationRunner(
+          new ChangeReactorMethodNames(List.of("reactor.core.publisher.Flux limitRequest(..) -> take")),
+          JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"),
+          2, 2, Long.MAX_VALUE);
+        BatchMigrationRunner.Summary summary = runner.run(baseDir, BatchMigrationRunner.findJavaSources(baseDir));
+
+        assertThat(summary.getErrors()).isEmpty();
+        assertThat(summary.getFilesParsed()).isEqualTo(3);
+        assertThat(summary.getFilesChanged()).isEqualTo(3);
+        assertThat(summary.getBatches()).isEqualTo(2);
+        assertThat(Files.readString(sources.resolve("C.java"))).contains("return flux.take(1);");
+    }
+
+    @Test
+    void parseBytes() {
+        assertThat(BatchMigrationRunner.parseBytes("512m")).isEqualTo(512L * 1024 * 1024);
+        assertThat(BatchMigrationRunner.parseBytes("4G")).isEqualTo(4L * 1024 * 1024 * 1024);
+        assertThat(BatchMigrationRunner.parseBytes("1000")).isEqualTo(1000L);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.reactive.reactor.search;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.reactive.reactor.table.UnboundedBuffers;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class FindUnboundedBuffersTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "reactor-core-3.4", "reactive-streams"))
+          .recipe(new FindUnboundedBuffers());
+    }
+
+    @Test
+    @DocumentExample
+    void findUnboundedBuffers() {
+        rewriteRun(
+          spec -> spec.dataTable(UnboundedBuffers.Row.class, rows -> {
+              assertThat(rows).hasSize(6);
+              assertThat(rows.get(0).getMethod()).isEqualTo("TestClass#buffers");
+              assertThat(rows.get(0).getOperator()).isEqualTo("Flux#onBackpressureBuffer");
+              assertThat(rows).extracting(UnboundedBuffers.Row::getSourceType)
+                .containsExactly("unknown", "infinite", "infinite", "unknown", "finite", "infinite");
+          }),
+          //language=java
+          java(
+            """
+              import java.time.Duration;
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+              import reactor.core.publisher.Sinks;
+              import reactor.util.concurrent.Queues;
+
+              class TestClass {
+                  void buffers(Flux<String> flux, Mono<String> mono) {
+                      flux.onBackpressureBuffer();
+                      flux.onBackpressureBuffer(256);
+                      Sinks.many().replay().all();
+                      Sinks.many().unicast().onBackpressureBuffer();
+                      Queues.unbounded();
+                      mono.cache();
+                      mono.cache(Duration.ofMinutes(1));
+                      Flux.interval(Duration.ofSeconds(1)).collectList();
+                      Flux.interval(Duration.ofSeconds(1)).take(10).collectList();
+                      flux.collectList();
+                  }
+              }
+              """,
+            """
+              import java.time.Duration;
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.Mono;
+              import reactor.core.publisher.Sinks;
+              import reactor.util.concurrent.Queues;
+
+              class TestClass {
+                  void buffers(Flux<String> flux, Mono<String> mono) {
+                      /*~~(unknown source)~~>*/flux.onBackpressureBuffer();
+                      flux.onBackpressureBuffer(256);
+                      /*~~(infinite source)~~>*/Sinks.many().replay().all();
+                      /*~~(infinite source)~~>*/Sinks.many().unicast().onBackpressureBuffer();
+                      /*~~(unknown source)~~>*/Queues.unbounded();
+                      /*~~(finite source)~~>*/mono.cache();
+                      mono.cache(Duration.ofMinutes(1));
+                      /*~~(infinite source)~~>*/Flux.interval(Duration.ofSeconds(1)).collectList();
+                      Flux.interval(Duration.ofSeconds(1)).take(10).collectList();
+                      flux.collectList();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void unicastProcessor() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import reactor.core.publisher.UnicastProcessor;
+
+              class TestClass {
+                  UnicastProcessor<String> processor = UnicastProcessor.create();
+              }
+              """,
+            """
+              import reactor.core.publisher.UnicastProcessor;
+
+              class TestClass {
+                  UnicastProcessor<String> processor = /*~~(infinite source)~~>*/UnicastProcessor.create();
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void fluxSinksWithBufferStrategy() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.util.function.Consumer;
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.FluxSink;
+              import reactor.core.publisher.FluxSink.OverflowStrategy;
+
+              class TestClass {
+                  void sinks(Consumer<FluxSink<String>> emitter) {
+                      Flux.create(emitter);
+                      Flux.push(emitter, FluxSink.OverflowStrategy.BUFFER);
+                      Flux.create(emitter, OverflowStrategy.LATEST);
+                  }
+              }
+              """,
+            """
+              import java.util.function.Consumer;
+              import reactor.core.publisher.Flux;
+              import reactor.core.publisher.FluxSink;
+              import reactor.core.publisher.FluxSink.OverflowStrategy;
+
+              class TestClass {
+                  void sinks(Consumer<FluxSink<String>> emitter) {
+                      /*~~(unknown source)~~>*/Flux.create(emitter);
+                      /*~~(unknown source)~~>*/Flux.push(emitter, FluxSink.OverflowStrategy.BUFFER);
+                      Flux.create(emitter, OverflowStrategy.LATEST);
+                  }
+              }
+              """
+          )
+        );
+    }
+}